@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Runs the suite in N duration-balanced shards in parallel on this machine (one JVM per shard,
+# selected with -Dshard=i/N) and merges their Allure results into target/allure-results.
+# All shards plan from one frozen copy of the duration history, since each shard rewrites the history when it ends.
+# The history file defaults to the one in config.properties; set SCHEDULE_HISTORY_FILE if it is configured elsewhere.
+# Usage: ./run-shards.sh <shards> [extra Maven arguments, e.g. -Plocal-site -DdriverProfile=fast-headless]
+set -uo pipefail
+
+shards="${1:-2}"
+shift || true
+cd "$(dirname "$0")"
+
+mvn -B -q test-compile "$@" || exit 1
+rm -rf target/shards target/allure-results
+mkdir -p target/shards
+
+history="${SCHEDULE_HISTORY_FILE:-.test-history/test-durations.properties}"
+plan_history="target/shards/plan-durations.properties"
+if [ -f "$history" ]; then
+    cp "$history" "$plan_history"
+fi
+
+pids=()
+for i in $(seq 1 "$shards"); do
+    mvn -B surefire:test -Dshard="$i/$shards" -DshardDir="shard-$i" -Dschedule.planFile="$plan_history" "$@" > "target/shards/shard-$i.log" 2>&1 &
+    pids+=("$!")
+done
+
+status=0
+for i in "${!pids[@]}"; do
+    if ! wait "${pids[$i]}"; then
+        echo "Shard $((i + 1))/$shards failed, see target/shards/shard-$((i + 1)).log"
+        status=1
+    fi
+done
+
+results=""
+for i in $(seq 1 "$shards"); do
+    results="$results target/shards/shard-$i/allure-results"
+done
+mvn -B -q org.codehaus.mojo:exec-maven-plugin:3.2.0:java -Dexec.classpathScope=test \
+    -Dexec.mainClass=listeners.AllureResultsMerger -Dexec.args="target/allure-results$results" || status=1
+exit $status
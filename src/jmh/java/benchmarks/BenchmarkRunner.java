@@ -0,0 +1,110 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Runs all benchmarks of this package and compares the scores (ns/op) with the baseline file.
+ * A benchmark only counts as regressed when the lower bound of its 99.9% confidence interval is above
+ * the limit, so run-to-run noise of nanosecond-scale benchmarks does not count as a regression.
+ * Scores are absolute and depend on the machine, so regressions are only reported by default; with
+ * jmh.failOnRegression=true (for an agent whose own scores are the baseline) the runner exits with status 1.
+ *
+ * System properties:
+ * - jmh.baselineFile: baseline properties file (benchmark name = ns/op)
+ * - jmh.resultFile: JSON file the JMH results are written to
+ * - jmh.tolerance: allowed relative slowdown, e.g. 0.25 for 25%
+ * - jmh.updateBaseline: true to rewrite the baseline with the current scores instead of comparing
+ * - jmh.failOnRegression: true to exit with status 1 if a benchmark regressed (default false)
+ * - jmh.include: regular expression selecting the benchmarks to run (default: all in this package)
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path baselineFile = Paths.get(System.getProperty("jmh.baselineFile", "src/jmh/resources/benchmark-baseline.properties"));
+        double tolerance = Double.parseDouble(System.getProperty("jmh.tolerance", "0.25"));
+        boolean updateBaseline = Boolean.parseBoolean(System.getProperty("jmh.updateBaseline", "false"));
+        boolean failOnRegression = Boolean.parseBoolean(System.getProperty("jmh.failOnRegression", "false"));
+
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", BenchmarkRunner.class.getPackageName() + "\\..*Benchmark\\..*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.resultFile", "target/jmh-result.json"))
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        TreeMap<String, Double> scores = new TreeMap<>();
+        TreeMap<String, Double> errors = new TreeMap<>();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark().replace(BenchmarkRunner.class.getPackageName() + ".", "");
+            scores.put(name, result.getPrimaryResult().getScore());
+            double error = result.getPrimaryResult().getScoreError();
+            errors.put(name, Double.isNaN(error) ? 0 : error);
+        }
+
+        if (updateBaseline) {
+            writeBaseline(baselineFile, scores);
+            System.out.println("Benchmark baseline updated: " + baselineFile.toAbsolutePath());
+            return;
+        }
+
+        Properties baseline = new Properties();
+        if (Files.isRegularFile(baselineFile)) {
+            try (InputStream in = Files.newInputStream(baselineFile)) {
+                baseline.load(in);
+            }
+        }
+
+        int regressions = 0;
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-50s %12s %12s %8s", "Benchmark", "Baseline", "Current", "Change"));
+        for (var entry : scores.entrySet()) {
+            String baselineValue = baseline.getProperty(entry.getKey());
+            if (baselineValue == null) {
+                System.out.println(String.format(Locale.ROOT, "%-50s %12s %12.1f %8s", entry.getKey(), "-", entry.getValue(), "new"));
+                continue;
+            }
+            double expected = Double.parseDouble(baselineValue);
+            double change = (entry.getValue() - expected) / expected;
+            boolean regressed = entry.getValue() - errors.get(entry.getKey()) > expected * (1 + tolerance);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(String.format(Locale.ROOT, "%-50s %12.1f %12.1f %+7.1f%%%s",
+                    entry.getKey(), expected, entry.getValue(), change * 100, regressed ? "  REGRESSION" : ""));
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) slower than the baseline by more than "
+                    + Math.round(tolerance * 100) + "%");
+            if (failOnRegression) {
+                System.exit(1);
+            }
+            System.out.println("Not failing the build: the baseline may come from another machine "
+                    + "(record one with -Djmh.updateBaseline=true, enforce it with -Djmh.failOnRegression=true)");
+        }
+    }
+
+    private static void writeBaseline(Path baselineFile, TreeMap<String, Double> scores) throws IOException {
+        StringBuilder content = new StringBuilder("# JMH baseline scores in ns/op, updated with -Djmh.updateBaseline=true\n");
+        scores.forEach((name, score) -> content.append(name).append('=').append(String.format(Locale.ROOT, "%.1f", score)).append('\n'));
+        if (baselineFile.getParent() != null) {
+            Files.createDirectories(baselineFile.getParent());
+        }
+        Files.writeString(baselineFile, content);
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import utils.CommandMetrics;
+import utils.ConfigReader;
+
+/**
+ * Measures what command latency instrumentation adds to each WebDriver round trip: the same commands on a plain
+ * FakeWebDriver and on one instrumented by {@link CommandMetrics#instrument(WebDriver)}. The difference includes the
+ * reflective dispatch of the proxies, which the overhead logged by CommandMetrics does not.
+ */
+public class CommandLatencyBenchmark extends BenchmarkDefaults {
+
+    @State(Scope.Thread)
+    public static class Drivers {
+        WebDriver plain;
+        WebDriver decorated;
+        WebElement plainButton;
+        WebElement decoratedButton;
+
+        @Setup(Level.Trial)
+        public void openLoginPage() {
+            plain = new FakeWebDriver(FakeSite.restfulBooker("admin", "password"));
+            decorated = CommandMetrics.instrument(new FakeWebDriver(FakeSite.restfulBooker("admin", "password")));
+            plain.get(ConfigReader.getConfigProperty("baseUrlAdmin"));
+            decorated.get(ConfigReader.getConfigProperty("baseUrlAdmin"));
+            plainButton = plain.findElement(By.id("doLogin"));
+            decoratedButton = decorated.findElement(By.id("doLogin"));
+        }
+    }
+
+    @Benchmark
+    public String getTitle(Drivers drivers) {
+        return drivers.plain.getTitle();
+    }
+
+    @Benchmark
+    public String getTitleInstrumented(Drivers drivers) {
+        return drivers.decorated.getTitle();
+    }
+
+    @Benchmark
+    public WebElement findElement(Drivers drivers) {
+        return drivers.plain.findElement(By.id("doLogin"));
+    }
+
+    @Benchmark
+    public WebElement findElementInstrumented(Drivers drivers) {
+        return drivers.decorated.findElement(By.id("doLogin"));
+    }
+
+    @Benchmark
+    public String getText(Drivers drivers) {
+        return drivers.plainButton.getText();
+    }
+
+    @Benchmark
+    public String getTextInstrumented(Drivers drivers) {
+        return drivers.decoratedButton.getText();
+    }
+}
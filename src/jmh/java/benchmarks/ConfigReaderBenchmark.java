@@ -0,0 +1,20 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import utils.ConfigReader;
+
+/**
+ * Measures the cost of configuration lookups performed on every page open and setting read.
+ */
+public class ConfigReaderBenchmark extends BenchmarkDefaults {
+
+    @Benchmark
+    public String getConfigProperty() {
+        return ConfigReader.getConfigProperty("baseUrl");
+    }
+
+    @Benchmark
+    public String getConfigPropertyWithDefault() {
+        return ConfigReader.getConfigProperty("driverPool.size", "2");
+    }
+}
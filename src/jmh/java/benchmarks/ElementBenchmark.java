@@ -0,0 +1,41 @@
+package benchmarks;
+
+import elements.Button;
+import elements.TextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Measures the cost of the element wrappers: construction (driver lookup and logger resolution
+ * per instance) and the element description built for log messages.
+ */
+public class ElementBenchmark extends BenchmarkDefaults {
+
+    @Benchmark
+    public Button newButton(FakeDriverState state) {
+        return new Button(state.usernameElement);
+    }
+
+    @Benchmark
+    public TextField newTextField(FakeDriverState state) {
+        return new TextField(state.usernameElement);
+    }
+
+    @Benchmark
+    public String describeElement(FakeDriverState state) {
+        return new DescribedButton(state.usernameElement).describe();
+    }
+
+    /**
+     * Exposes the protected describeElement() of the element wrappers to the benchmark.
+     */
+    static class DescribedButton extends Button {
+        DescribedButton(WebElement element) {
+            super(element);
+        }
+
+        String describe() {
+            return describeElement();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package benchmarks;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import utils.ConfigReader;
+import utils.DriverManager;
+import utils.Timeouts;
+
+/**
+ * Per-thread benchmark state: installs an in-memory FakeWebDriver into DriverManager and opens the
+ * admin login page, so benchmarks are deterministic and need neither a browser nor network access.
+ */
+@State(Scope.Thread)
+public class FakeDriverState {
+    WebDriver driver;
+    WebElement usernameElement;
+
+    @Setup(Level.Trial)
+    public void installFakeDriver() {
+        driver = new FakeWebDriver(FakeSite.restfulBooker("admin", "password"));
+        DriverManager.setDriver(driver, Timeouts.SHORT);
+        driver.get(ConfigReader.getConfigProperty("baseUrlAdmin"));
+        usernameElement = driver.findElement(By.id("username"));
+    }
+
+    @TearDown(Level.Trial)
+    public void removeFakeDriver() {
+        DriverManager.quitDriver();
+    }
+}
@@ -0,0 +1,28 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import pages.AdminLoginPage;
+import pages.AdminRoomsPage;
+import pages.HomePage;
+
+/**
+ * Measures the cost of page-object construction in BasePage and AdminBasePage
+ * (driver and wait lookup, logger resolution, navbar component creation).
+ */
+public class PageObjectBenchmark extends BenchmarkDefaults {
+
+    @Benchmark
+    public HomePage newHomePage(FakeDriverState state) {
+        return new HomePage();
+    }
+
+    @Benchmark
+    public AdminLoginPage newAdminLoginPage(FakeDriverState state) {
+        return new AdminLoginPage();
+    }
+
+    @Benchmark
+    public AdminRoomsPage newAdminRoomsPage(FakeDriverState state) {
+        return new AdminRoomsPage();
+    }
+}
@@ -1,6 +1,7 @@
 package components;
 
 import elements.Button;
+import elements.Locate;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 
@@ -12,8 +13,11 @@ public class AdminNavbar extends BaseComponent {
 
     // Locator for the Admin Navbar component
     private final By navbar = By.cssSelector(".navbar.navbar-expand-md.navbar-dark.bg-dark.mb-4");
-    // Locator for the "Logout" button
-    private final By logoutBtn = By.cssSelector(".btn.btn-outline-danger.my-2.my-sm-0");
+    // "Logout" button, created on first use by the generated AdminNavbarElements
+    @Locate(css = ".btn.btn-outline-danger.my-2.my-sm-0")
+    Button logoutBtn;
+
+    private final AdminNavbarElements ui = new AdminNavbarElements(this, elements);
 
     public AdminNavbar() {
         super();
@@ -25,20 +29,16 @@ public class AdminNavbar extends BaseComponent {
      * @return The locator for the Admin Navbar.
      */
     @Override
-    protected By getRootLocator() {
+    public By getRootLocator() {
         return navbar; // Return the locator for Admin Navbar
     }
 
-    private Button getLogoutBtn() {
-        return new Button(driver.findElement(logoutBtn));
-    }
-
     /**
      * Clicks the logout button.
      */
     @Step("Click logout button")
     public void clickLogoutBtn() {
         logger.info("Clicking Logout button");
-        getLogoutBtn().click();
+        ui.logoutBtn().click();
     }
 }
@@ -1,11 +1,15 @@
 package components;
 
+import elements.ElementCache;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.BrowserWaits;
+import utils.DomSnapshot;
 import utils.DriverManager;
+import utils.TimeoutPolicy;
 
 /**
  * Base class for reusable UI components (e.g., navbar, footer).
@@ -14,13 +18,17 @@ import utils.DriverManager;
 public abstract class BaseComponent {
     protected WebDriver driver;
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+    // Resolved elements of this component, reused until the page is navigated away from
+    protected final ElementCache elements;
 
     public BaseComponent() {
         this.driver = DriverManager.getDriver();
+        this.elements = new ElementCache(driver);
     }
 
     // Abstract method for child classes to define the root element locator of the component
-    protected abstract By getRootLocator();
+    // (public so that pages can include the component in batched reads)
+    public abstract By getRootLocator();
 
     /**
      * Returns the root element of the component.
@@ -28,7 +36,7 @@ public abstract class BaseComponent {
      * @return the root WebElement of the component.
      */
     private WebElement getRootElement() {
-        return driver.findElement(getRootLocator()); // Find the element using locator
+        return elements.find(getRootLocator()); // Cached; resolved again if the page has changed
     }
 
     /**
@@ -40,4 +48,34 @@ public abstract class BaseComponent {
         logger.debug("Component with locator {} is displayed: {}", getRootLocator(), displayed);
         return displayed;
     }
+
+    /**
+     * Checks if the component is visible in a snapshot taken earlier, without a WebDriver call.
+     *
+     * @param snapshot Snapshot of the page (or of this component)
+     */
+    public boolean isDisplayedIn(DomSnapshot snapshot) {
+        return snapshot.isDisplayed(getRootLocator());
+    }
+
+    /**
+     * Takes a snapshot of just this component's subtree in a single round trip.
+     *
+     * @return Snapshot of the component
+     */
+    public DomSnapshot snapshot() {
+        logger.debug("Taking DOM snapshot of component with locator {}", getRootLocator());
+        return DomSnapshot.capture(driver, getRootLocator());
+    }
+
+    /**
+     * Waits until the component is visible on the page.
+     * The wait is event-driven inside the browser and returns as soon as the component is visible.
+     * The timeout is learned from earlier runs of this wait (see {@link TimeoutPolicy}).
+     */
+    public void waitForDisplayed() {
+        logger.debug("Waiting for component with locator {} to be displayed", getRootLocator());
+        TimeoutPolicy.getShared().await(driver, getClass().getSimpleName() + ": " + getRootLocator(),
+                DriverManager.getWaitTimeout(), timeout -> BrowserWaits.waitForVisible(driver, getRootLocator(), timeout));
+    }
 }
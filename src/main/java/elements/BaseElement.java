@@ -2,6 +2,7 @@ package elements;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import utils.DriverManager;
@@ -10,10 +11,17 @@ import utils.DriverManager;
  * Abstract base class for all custom UI elements.
  * Wraps a Selenium WebElement and provides common interaction methods with logging.
  */
-public  class BaseElement {
+public  class BaseElement implements WrapsElement {
     protected WebDriver driver;
     protected WebElement element;
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+    // Described only when a log event is actually written: the logger calls toString() while formatting
+    private final Object description = new Object() {
+        @Override
+        public String toString() {
+            return describeElement();
+        }
+    };
 
     /**
      * Constructor for wrapping a WebElement.
@@ -25,6 +33,14 @@ public  class BaseElement {
         this.element = element;
     }
 
+    /**
+     * @return The wrapped WebElement
+     */
+    @Override
+    public WebElement getWrappedElement() {
+        return element;
+    }
+
     /**
      * Checks if the element is visible on the page.
      */
@@ -47,7 +63,7 @@ public  class BaseElement {
      * Clicks on the element.
      */
     public void click() {
-        logger.info("Clicking on element: {}", describeElement());
+        logger.info("Clicking on element: {}", lazyDescription());
         element.click();
     }
 
@@ -56,7 +72,7 @@ public  class BaseElement {
      */
     public String getText() {
         String text = element.getText();
-        logger.info("Getting text from element: {}, text: {}", describeElement(), text);
+        logger.info("Getting text from element: {}, text: {}", lazyDescription(), text);
         return text;
     }
 
@@ -70,4 +86,12 @@ public  class BaseElement {
             return "unknown element";
         }
     }
+
+    /**
+     * Description of the element to pass as a log argument. Unlike {@link #describeElement()}, it is not built
+     * unless the event is written, e.g. when the events of a passed test are discarded.
+     */
+    protected Object lazyDescription() {
+        return description;
+    }
 }
@@ -0,0 +1,175 @@
+package elements;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A WebElement handle held by an {@link ElementCache}. Every call is delegated to the resolved element;
+ * if the element has gone stale, the locator is resolved again and the call is retried once.
+ */
+public class CachedElement implements WebElement, WrapsElement {
+    private final By locator;
+    private final ElementCache cache;
+    private WebElement element;
+
+    CachedElement(By locator, WebElement element, ElementCache cache) {
+        this.locator = locator;
+        this.element = element;
+        this.cache = cache;
+    }
+
+    /**
+     * @return Locator the element was resolved with
+     */
+    public By getLocator() {
+        return locator;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return element;
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(e -> e.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(e -> e.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(e -> e.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(e -> e.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(e -> e.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(e -> e.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(e -> e.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return call(e -> e.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return element.toString();
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(e -> {
+            action.accept(e);
+            return null;
+        });
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            element = cache.resolve(locator);
+            return action.apply(element);
+        }
+    }
+}
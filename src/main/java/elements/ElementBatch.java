@@ -0,0 +1,402 @@
+package elements;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.Locators;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ElementBatch executes many element operations in a single {@code executeScript} round trip.
+ *
+ * Reads collect the text, visibility, enabled state and attributes of any number of locators
+ * (plus the page title) in one call:
+ * <pre>
+ * ElementBatch.Result state = ElementBatch.read(driver).title().displayed(navbar).text(header).execute();
+ * </pre>
+ * Form fills type into several inputs and click a button in one call:
+ * <pre>
+ * ElementBatch.fill(driver).type(username, "admin").type(password, "secret").click(loginBtn).execute();
+ * </pre>
+ * If the driver cannot run scripts or a locator has no CSS/XPath equivalent, the batch falls back to
+ * one regular WebDriver call per operation, so the results are the same either way.
+ */
+public final class ElementBatch {
+    private static final Logger logger = LoggerFactory.getLogger(ElementBatch.class);
+
+    private static final String FIND_FUNCTION =
+            "function find(using, selector) {"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return document.querySelector(selector);"
+            + "}";
+
+    private static final String READ_SCRIPT = FIND_FUNCTION
+            + "function visible(el) {"
+            + "  if (!el.isConnected) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'"
+            + "      || parseFloat(style.opacity) === 0) { return false; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  return rect.width > 0 && rect.height > 0;"
+            + "}"
+            + "var elements = arguments[0].map(function (query) {"
+            + "  var el = find(query[0], query[1]);"
+            + "  if (!el) { return {present: false}; }"
+            + "  var result = {present: true};"
+            + "  if (query[2]) { result.displayed = visible(el); }"
+            + "  if (query[3]) { result.text = visible(el) ? el.innerText.trim() : ''; }"
+            + "  if (query[4]) { result.enabled = !el.disabled; }"
+            + "  result.attributes = {};"
+            + "  query[5].forEach(function (name) { result.attributes[name] = el.getAttribute(name); });"
+            + "  return result;"
+            + "});"
+            + "return {title: document.title, elements: elements};";
+
+    private static final String FILL_SCRIPT = FIND_FUNCTION
+            + "var steps = arguments[0], targets = [];"
+            + "for (var i = 0; i < steps.length; i++) {"
+            + "  var el = find(steps[i][1], steps[i][2]);"
+            + "  if (!el) { return 'missing: ' + steps[i][2]; }"
+            + "  targets.push(el);"
+            + "}"
+            + "steps.forEach(function (step, i) {"
+            + "  var el = targets[i];"
+            + "  if (step[0] === 'type') {"
+            + "    el.focus();"
+            // The native setter keeps frameworks such as React in sync with the new value
+            + "    var setter = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value').set;"
+            + "    setter.call(el, step[3]);"
+            + "    el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "    el.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  } else {"
+            + "    el.click();"
+            + "  }"
+            + "});"
+            + "return null;";
+
+    // Returned by executeScript() when the batch has to fall back to one call per element
+    private static final Object NOT_BATCHED = new Object();
+
+    private ElementBatch() {
+    }
+
+    /**
+     * Starts a batch of reads.
+     *
+     * @param driver WebDriver to read from
+     * @return Empty batch of reads
+     */
+    public static Reads read(WebDriver driver) {
+        return new Reads(driver);
+    }
+
+    /**
+     * Starts a batched form fill.
+     *
+     * @param driver WebDriver to fill the form in
+     * @return Empty form fill
+     */
+    public static Fill fill(WebDriver driver) {
+        return new Fill(driver);
+    }
+
+    /**
+     * Runs the script, or returns NOT_BATCHED if the driver cannot run scripts or a locator is not supported.
+     */
+    private static Object executeScript(WebDriver driver, String script, Collection<By> locators, Object argument) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return NOT_BATCHED;
+        }
+        for (By locator : locators) {
+            if (Locators.getStrategy(locator) == null) {
+                logger.debug("Locator {} cannot be batched, using one call per element", locator);
+                return NOT_BATCHED;
+            }
+        }
+        try {
+            return ((JavascriptExecutor) driver).executeScript(script, argument);
+        } catch (UnsupportedCommandException e) {
+            logger.debug("Scripts are not supported, using one call per element");
+            return NOT_BATCHED;
+        }
+    }
+
+    /**
+     * A batch of element reads, executed with {@link #execute()}.
+     */
+    public static class Reads {
+        private final WebDriver driver;
+        private final Map<By, Query> queries = new LinkedHashMap<>();
+        private boolean title;
+
+        private Reads(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        /**
+         * Also reads the page title.
+         */
+        public Reads title() {
+            title = true;
+            return this;
+        }
+
+        /**
+         * Reads the visible text of the element.
+         */
+        public Reads text(By locator) {
+            query(locator).text = true;
+            return this;
+        }
+
+        /**
+         * Reads whether the element is visible.
+         */
+        public Reads displayed(By locator) {
+            query(locator).displayed = true;
+            return this;
+        }
+
+        /**
+         * Reads whether the element is enabled.
+         */
+        public Reads enabled(By locator) {
+            query(locator).enabled = true;
+            return this;
+        }
+
+        /**
+         * Reads an attribute of the element.
+         */
+        public Reads attribute(By locator, String name) {
+            query(locator).attributes.add(name);
+            return this;
+        }
+
+        /**
+         * Executes all reads in one script call (or one call per read as a fallback).
+         * Missing elements are reported as not present instead of failing the batch.
+         *
+         * @return Values of all reads
+         */
+        @SuppressWarnings("unchecked")
+        public Result execute() {
+            List<List<Object>> arguments = new ArrayList<>();
+            for (Map.Entry<By, Query> entry : queries.entrySet()) {
+                Query query = entry.getValue();
+                arguments.add(List.of(String.valueOf(Locators.getStrategy(entry.getKey())),
+                        String.valueOf(Locators.getSelector(entry.getKey())),
+                        query.displayed, query.text, query.enabled, new ArrayList<>(query.attributes)));
+            }
+
+            Object response = executeScript(driver, READ_SCRIPT, queries.keySet(), arguments);
+            if (response instanceof Map) {
+                Map<String, Object> values = (Map<String, Object>) response;
+                List<Object> elements = (List<Object>) values.get("elements");
+                Map<By, Map<String, Object>> results = new LinkedHashMap<>();
+                int index = 0;
+                for (By locator : queries.keySet()) {
+                    results.put(locator, (Map<String, Object>) elements.get(index++));
+                }
+                logger.debug("Read {} element(s) in one script call", queries.size());
+                return new Result(title ? (String) values.get("title") : null, results);
+            }
+            return readOneByOne();
+        }
+
+        private Result readOneByOne() {
+            Map<By, Map<String, Object>> results = new LinkedHashMap<>();
+            for (Map.Entry<By, Query> entry : queries.entrySet()) {
+                Query query = entry.getValue();
+                Map<String, Object> values = new LinkedHashMap<>();
+                List<WebElement> found = driver.findElements(entry.getKey());
+                values.put("present", !found.isEmpty());
+                if (!found.isEmpty()) {
+                    WebElement element = found.get(0);
+                    if (query.displayed) {
+                        values.put("displayed", element.isDisplayed());
+                    }
+                    if (query.text) {
+                        values.put("text", element.getText());
+                    }
+                    if (query.enabled) {
+                        values.put("enabled", element.isEnabled());
+                    }
+                    Map<String, Object> attributes = new LinkedHashMap<>();
+                    for (String name : query.attributes) {
+                        attributes.put(name, element.getAttribute(name));
+                    }
+                    values.put("attributes", attributes);
+                }
+                results.put(entry.getKey(), values);
+            }
+            return new Result(title ? driver.getTitle() : null, results);
+        }
+
+        private Query query(By locator) {
+            return queries.computeIfAbsent(locator, key -> new Query());
+        }
+    }
+
+    /**
+     * Values read by a batch. Reading a value that was not requested throws IllegalStateException.
+     */
+    public static class Result {
+        private final String title;
+        private final Map<By, Map<String, Object>> elements;
+
+        private Result(String title, Map<By, Map<String, Object>> elements) {
+            this.title = title;
+            this.elements = elements;
+        }
+
+        /**
+         * @return The page title, or null if it was not requested.
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * @return true if the element was found on the page
+         */
+        public boolean isPresent(By locator) {
+            return Boolean.TRUE.equals(values(locator).get("present"));
+        }
+
+        /**
+         * @return true if the element is present and visible
+         */
+        public boolean isDisplayed(By locator) {
+            return Boolean.TRUE.equals(values(locator).get("displayed"));
+        }
+
+        /**
+         * @return true if the element is present and enabled
+         */
+        public boolean isEnabled(By locator) {
+            return Boolean.TRUE.equals(values(locator).get("enabled"));
+        }
+
+        /**
+         * @return Visible text of the element, or null if it is not present
+         */
+        public String getText(By locator) {
+            return (String) values(locator).get("text");
+        }
+
+        /**
+         * @return Attribute value of the element, or null if it is not present or has no such attribute
+         */
+        @SuppressWarnings("unchecked")
+        public String getAttribute(By locator, String name) {
+            Map<String, Object> attributes = (Map<String, Object>) values(locator).get("attributes");
+            Object value = attributes == null ? null : attributes.get(name);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        private Map<String, Object> values(By locator) {
+            Map<String, Object> values = elements.get(locator);
+            if (values == null) {
+                throw new IllegalStateException("Locator was not part of the batch: " + locator);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * A batched form fill, executed with {@link #execute()}. Steps run in the order they were added.
+     */
+    public static class Fill {
+        private final WebDriver driver;
+        private final List<Step> steps = new ArrayList<>();
+
+        private Fill(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        /**
+         * Replaces the value of the input with the given text.
+         */
+        public Fill type(By locator, String text) {
+            steps.add(new Step("type", locator, text));
+            return this;
+        }
+
+        /**
+         * Clicks the element.
+         */
+        public Fill click(By locator) {
+            steps.add(new Step("click", locator, null));
+            return this;
+        }
+
+        /**
+         * Executes all steps in one script call. Nothing is changed if an element is missing;
+         * in that case (and if scripts are not supported) the steps run one WebDriver call at a time.
+         */
+        public void execute() {
+            List<By> locators = new ArrayList<>();
+            List<List<Object>> arguments = new ArrayList<>();
+            for (Step step : steps) {
+                locators.add(step.locator);
+                arguments.add(List.of(step.action, String.valueOf(Locators.getStrategy(step.locator)),
+                        String.valueOf(Locators.getSelector(step.locator)), step.text == null ? "" : step.text));
+            }
+
+            Object response = executeScript(driver, FILL_SCRIPT, locators, arguments);
+            if (response == null) {
+                logger.debug("Filled {} step(s) in one script call", steps.size());
+                return;
+            }
+            if (response != NOT_BATCHED) {
+                logger.debug("Batched form fill not possible ({}), using one call per element", response);
+            }
+            fillOneByOne();
+        }
+
+        private void fillOneByOne() {
+            for (Step step : steps) {
+                WebElement element = driver.findElement(step.locator);
+                if ("type".equals(step.action)) {
+                    element.clear();
+                    element.sendKeys(step.text);
+                } else {
+                    element.click();
+                }
+            }
+        }
+    }
+
+    private static class Query {
+        private boolean text;
+        private boolean displayed;
+        private boolean enabled;
+        private final Set<String> attributes = new LinkedHashSet<>();
+    }
+
+    private static class Step {
+        private final String action;
+        private final By locator;
+        private final String text;
+
+        private Step(String action, By locator, String text) {
+            this.action = action;
+            this.locator = locator;
+            this.text = text;
+        }
+    }
+}
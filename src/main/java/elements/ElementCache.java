@@ -0,0 +1,101 @@
+package elements;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ElementCache reuses resolved WebElement handles within a page object or component,
+ * so repeated getters and visibility checks do not call findElement every time.
+ *
+ * Elements are returned as {@link CachedElement}s that re-resolve themselves once if the
+ * handle has gone stale (e.g. after a click that reloaded the page). All caches of the current
+ * thread are invalidated by {@link #invalidateAll()}, which page objects call on navigation.
+ *
+ * A cache belongs to one page object and is used by the thread that owns the driver,
+ * so it is not thread-safe. Hit statistics are global and logged with {@link #logStats()}.
+ */
+public class ElementCache {
+    private static final Logger logger = LoggerFactory.getLogger(ElementCache.class);
+
+    // Navigations of the current thread's driver; caches created earlier drop their handles
+    private static final ThreadLocal<long[]> navigationCount = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder staleResolutions = new LongAdder();
+
+    private final WebDriver driver;
+    private final Map<By, CachedElement> elements = new HashMap<>();
+    private long seenNavigations;
+
+    /**
+     * @param driver WebDriver the elements are resolved with
+     */
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+        this.seenNavigations = navigationCount.get()[0];
+    }
+
+    /**
+     * Returns the element for the locator, resolving it only if it is not cached yet
+     * or the page has been navigated since.
+     *
+     * @param locator Locator of the element
+     * @return Cached element that re-resolves itself when stale
+     * @throws org.openqa.selenium.NoSuchElementException if the element is not on the page
+     */
+    public WebElement find(By locator) {
+        lookups.increment();
+        long navigations = navigationCount.get()[0];
+        if (navigations != seenNavigations) {
+            elements.clear();
+            seenNavigations = navigations;
+        }
+        CachedElement cached = elements.get(locator);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        CachedElement element = new CachedElement(locator, driver.findElement(locator), this);
+        elements.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Drops the cached handles of all caches used by the current thread.
+     * Called when the current thread's driver navigates to another page.
+     */
+    public static void invalidateAll() {
+        navigationCount.get()[0]++;
+    }
+
+    /**
+     * Logs how many lookups were served from the cache, i.e. the findElement calls saved.
+     */
+    public static void logStats() {
+        long total = lookups.sum();
+        if (total == 0) {
+            return;
+        }
+        long cacheHits = hits.sum();
+        logger.info("Element cache: {} lookup(s), {} hit(s) ({}%), {} stale handle(s) re-resolved; {} findElement call(s) saved",
+                total, cacheHits, Math.round(cacheHits * 100.0 / total), staleResolutions.sum(),
+                cacheHits - staleResolutions.sum());
+    }
+
+    /**
+     * Resolves the locator again for a stale cached element.
+     */
+    WebElement resolve(By locator) {
+        staleResolutions.increment();
+        logger.debug("Cached element {} is stale, resolving it again", locator);
+        return driver.findElement(locator);
+    }
+}
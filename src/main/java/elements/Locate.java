@@ -0,0 +1,49 @@
+package elements;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a lazily resolved element field of a page object or component.
+ *
+ * The annotated field must be non-private, non-final and of a {@link BaseElement} type
+ * (e.g. {@link Button}, {@link TextField}); exactly one locator attribute must be set:
+ * <pre>
+ * &#64;Locate(id = "username")
+ * TextField usernameInput;
+ * </pre>
+ * At compile time {@code PageElementsProcessor} generates a {@code <Owner>Elements} class next to
+ * the owner with a static {@code By} constant and a lazy accessor per field. The accessor resolves
+ * the element through the owner's {@link ElementCache} on first use and reuses the wrapper afterwards.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Locate {
+
+    /**
+     * @return Element id
+     */
+    String id() default "";
+
+    /**
+     * @return CSS selector
+     */
+    String css() default "";
+
+    /**
+     * @return XPath expression
+     */
+    String xpath() default "";
+
+    /**
+     * @return Value of the name attribute
+     */
+    String name() default "";
+
+    /**
+     * @return Single class name
+     */
+    String className() default "";
+}
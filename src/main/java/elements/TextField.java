@@ -22,7 +22,7 @@ public class TextField extends BaseElement {
      * @param text Text to input
      */
     public void type(String text) {
-        logger.info("Typing text into field: '{}', element: {}", text, describeElement());
+        logger.info("Typing text into field: '{}', element: {}", text, lazyDescription());
         element.sendKeys(text);
     }
 
@@ -30,7 +30,7 @@ public class TextField extends BaseElement {
      * Clears the current value of the text field.
      */
     public void clear() {
-        logger.info("Clearing text field: {}", describeElement());
+        logger.info("Clearing text field: {}", lazyDescription());
         element.clear();
     }
 
@@ -40,7 +40,7 @@ public class TextField extends BaseElement {
      * @param text Text to input after clearing the field
      */
     public void clearAndType(String text) {
-        logger.info("Clearing field before typing: '{}', element: {}", text, describeElement());
+        logger.info("Clearing field before typing: '{}', element: {}", text, lazyDescription());
         clear();
         type(text);
     }
@@ -0,0 +1,195 @@
+package elements.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates reflection-free lazy element accessors for fields annotated with {@link elements.Locate}.
+ *
+ * For every class with annotated fields, a package-private {@code <Owner>Elements} class is generated
+ * in the owner's package. It holds a {@code By} constant per field and an accessor that looks the element up
+ * in the given {@code ElementCache} on every call, so cache invalidation and hit statistics apply, and keeps
+ * the wrapper in the field while the cache returns the same element:
+ * <pre>
+ * TextField usernameInput() {
+ *     WebElement element = cache.find(USERNAME_INPUT);
+ *     if (owner.usernameInput == null || owner.usernameInput.getWrappedElement() != element) {
+ *         owner.usernameInput = new TextField(element);
+ *     }
+ *     return owner.usernameInput;
+ * }
+ * </pre>
+ * Invalid declarations (private, final or static fields, non-wrapper types, zero or several locators)
+ * are reported as compile errors.
+ */
+@SupportedAnnotationTypes(PageElementsProcessor.LOCATE)
+public class PageElementsProcessor extends AbstractProcessor {
+    static final String LOCATE = "elements.Locate";
+    private static final String BASE_ELEMENT = "elements.BaseElement";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement locate = processingEnv.getElementUtils().getTypeElement(LOCATE);
+        if (locate == null) {
+            return false;
+        }
+        Map<TypeElement, List<VariableElement>> fieldsByOwner = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(locate)) {
+            if (element.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            VariableElement field = (VariableElement) element;
+            if (isValid(field)) {
+                fieldsByOwner.computeIfAbsent((TypeElement) field.getEnclosingElement(), key -> new ArrayList<>()).add(field);
+            }
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : fieldsByOwner.entrySet()) {
+            generate(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    private boolean isValid(VariableElement field) {
+        Element owner = field.getEnclosingElement();
+        if (owner.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            return error(field, "@Locate fields are only supported in top-level classes");
+        }
+        if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)
+                || field.getModifiers().contains(Modifier.STATIC)) {
+            return error(field, "@Locate fields must not be private, final or static, so the generated accessor can set them");
+        }
+        TypeMirror baseElement = processingEnv.getElementUtils().getTypeElement(BASE_ELEMENT).asType();
+        if (!processingEnv.getTypeUtils().isAssignable(field.asType(), baseElement)) {
+            return error(field, "@Locate fields must be of a BaseElement type such as Button or TextField");
+        }
+        if (getLocator(field) == null) {
+            return error(field, "@Locate needs exactly one of id, css, xpath, name or className");
+        }
+        return true;
+    }
+
+    /**
+     * Returns the Java expression creating the By for the field, or null if not exactly one locator is set.
+     */
+    private String getLocator(VariableElement field) {
+        Map<String, String> values = new LinkedHashMap<>();
+        field.getAnnotationMirrors().stream()
+                .filter(mirror -> mirror.getAnnotationType().toString().equals(LOCATE))
+                .flatMap(mirror -> mirror.getElementValues().entrySet().stream())
+                .forEach(value -> values.put(value.getKey().getSimpleName().toString(), (String) value.getValue().getValue()));
+        values.values().removeIf(String::isEmpty);
+        if (values.size() != 1) {
+            return null;
+        }
+        Map.Entry<String, String> locator = values.entrySet().iterator().next();
+        String factory;
+        switch (locator.getKey()) {
+            case "css":
+                factory = "cssSelector";
+                break;
+            case "name":
+                factory = "name";
+                break;
+            case "xpath":
+                factory = "xpath";
+                break;
+            case "className":
+                factory = "className";
+                break;
+            default:
+                factory = "id";
+        }
+        return "By." + factory + "(" + processingEnv.getElementUtils().getConstantExpression(locator.getValue()) + ")";
+    }
+
+    private void generate(TypeElement owner, List<VariableElement> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(owner);
+        String packageName = pkg.getQualifiedName().toString();
+        String ownerName = owner.getSimpleName().toString();
+        String className = ownerName + "Elements";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import elements.ElementCache;\n")
+                .append("import org.openqa.selenium.By;\n")
+                .append("import org.openqa.selenium.WebElement;\n\n")
+                .append("import javax.annotation.processing.Generated;\n\n")
+                .append("/**\n")
+                .append(" * Lazy element accessors for {@link ").append(ownerName).append("}, generated from its @Locate fields.\n")
+                .append(" */\n")
+                .append("@Generated(\"").append(PageElementsProcessor.class.getName()).append("\")\n")
+                .append("final class ").append(className).append(" {\n");
+        for (VariableElement field : fields) {
+            source.append("    static final By ").append(constantName(field)).append(" = ").append(getLocator(field)).append(";\n");
+        }
+        source.append("\n")
+                .append("    private final ").append(ownerName).append(" owner;\n")
+                .append("    private final ElementCache cache;\n\n")
+                .append("    ").append(className).append("(").append(ownerName).append(" owner, ElementCache cache) {\n")
+                .append("        this.owner = owner;\n")
+                .append("        this.cache = cache;\n")
+                .append("    }\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            String type = field.asType().toString();
+            source.append("\n")
+                    .append("    ").append(type).append(" ").append(name).append("() {\n")
+                    .append("        WebElement element = cache.find(").append(constantName(field)).append(");\n")
+                    .append("        if (owner.").append(name).append(" == null || owner.").append(name)
+                    .append(".getWrappedElement() != element) {\n")
+                    .append("            owner.").append(name).append(" = new ").append(type).append("(element);\n")
+                    .append("        }\n")
+                    .append("        return owner.").append(name).append(";\n")
+                    .append("    }\n");
+        }
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? className : packageName + "." + className, owner);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + className + ": " + e.getMessage(), owner);
+        }
+    }
+
+    /**
+     * Converts a field name such as usernameInput to USERNAME_INPUT.
+     */
+    private static String constantName(VariableElement field) {
+        return field.getSimpleName().toString().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+}
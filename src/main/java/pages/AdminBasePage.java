@@ -1,9 +1,12 @@
 package pages;
 
 import components.AdminNavbar;
+import elements.ElementBatch;
 import io.qameta.allure.Step;
+import org.openqa.selenium.Cookie;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.AdminAuthService;
 
 /**
  * Base page for all Admin-related pages.
@@ -41,13 +44,35 @@ public abstract class AdminBasePage extends BasePage {
         return displayed;
     }
 
+    /**
+     * Reads the page title and the navbar visibility in a single round trip,
+     * instead of one call for the title and two for finding and checking the navbar.
+     *
+     * @return Title and navbar visibility of the current page
+     */
+    @Step("Read Admin page state")
+    public AdminPageState readPageState() {
+        ElementBatch.Result result = ElementBatch.read(driver)
+                .title()
+                .displayed(navbar.getRootLocator())
+                .execute();
+        AdminPageState state = new AdminPageState(result.getTitle(), result.isDisplayed(navbar.getRootLocator()));
+        logger.info("Admin page state: {}", state);
+        return state;
+    }
+
     /**
      * Logs out the currently logged-in admin by clicking the Logout button in the navigation bar.
      * After logout, waits for the transition and then redirects the user to the Home page.
+     * The server ends the session, so a cached session with the same token is dropped as well.
      */
     @Step("Logging out from Admin")
     public HomePage logout() {
+        Cookie session = driver.manage().getCookieNamed(AdminAuthService.getCookieName());
         navbar.clickLogoutBtn();  // Click the logout button in the AdminNavbar
+        if (session != null) {
+            AdminAuthService.invalidateToken(session.getValue());
+        }
 
         // Wait for the HomePage to load after logout
         HomePage homePage = new HomePage();
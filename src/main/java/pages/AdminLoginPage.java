@@ -1,6 +1,8 @@
 package pages;
 
 import elements.Button;
+import elements.ElementBatch;
+import elements.Locate;
 import elements.TextField;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
@@ -13,25 +15,19 @@ public class AdminLoginPage extends AdminBasePage {
 
     // Locators
     private final By loginCard = By.className("card");
-    private final By usernameField = By.id("username");
-    private final By passwordField = By.id("password");
-    private final By loginBtn = By.id("doLogin");
 
-    public AdminLoginPage() {
-        super();
-    }
-
-    // Getters for wrapped elements
-    private TextField getUsernameInput() {
-        return new TextField(driver.findElement(usernameField));
-    }
+    // Wrapped elements, created on first use by the generated AdminLoginPageElements
+    @Locate(id = "username")
+    TextField usernameInput;
+    @Locate(id = "password")
+    TextField passwordInput;
+    @Locate(id = "doLogin")
+    Button loginBtn;
 
-    private TextField getPasswordInput() {
-        return new TextField(driver.findElement(passwordField));
-    }
+    private final AdminLoginPageElements ui = new AdminLoginPageElements(this, elements);
 
-    private Button getLoginBtn() {
-        return new Button(driver.findElement(loginBtn));
+    public AdminLoginPage() {
+        super();
     }
 
     /**
@@ -60,7 +56,7 @@ public class AdminLoginPage extends AdminBasePage {
     @Step("Enter username: {username}")
     public void enterUsername(String username) {
         logger.info("Entering username: {}", username);
-        getUsernameInput().clearAndType(username);
+        ui.usernameInput().clearAndType(username);
     }
 
     /**
@@ -69,7 +65,7 @@ public class AdminLoginPage extends AdminBasePage {
     @Step("Enter password")
     public void enterPassword(String password) {
         logger.info("Entering password");
-        getPasswordInput().clearAndType(password);
+        ui.passwordInput().clearAndType(password);
     }
 
     /**
@@ -78,7 +74,7 @@ public class AdminLoginPage extends AdminBasePage {
     @Step("Click login button")
     public void clickLoginBtn() {
         logger.info("Clicking Login button");
-        getLoginBtn().click();
+        ui.loginBtn().click();
     }
 
     /**
@@ -98,11 +94,15 @@ public class AdminLoginPage extends AdminBasePage {
 
     /**
      * Completes the login process by entering the provided username and password.
+     * Both fields are filled and the login button is clicked in a single script round trip.
      */
     @Step("Login to Admin as user: {username}")
     public void loginAs(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
-        clickLoginBtn();
+        logger.info("Logging in as: {}", username);
+        ElementBatch.fill(driver)
+                .type(AdminLoginPageElements.USERNAME_INPUT, username)
+                .type(AdminLoginPageElements.PASSWORD_INPUT, password)
+                .click(AdminLoginPageElements.LOGIN_BTN)
+                .execute();
     }
 }
\ No newline at end of file
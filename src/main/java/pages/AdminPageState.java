@@ -0,0 +1,33 @@
+package pages;
+
+/**
+ * Snapshot of the common Admin page state, read in a single round trip by {@link AdminBasePage#readPageState()}.
+ */
+public class AdminPageState {
+    private final String title;
+    private final boolean navbarDisplayed;
+
+    public AdminPageState(String title, boolean navbarDisplayed) {
+        this.title = title;
+        this.navbarDisplayed = navbarDisplayed;
+    }
+
+    /**
+     * @return Title of the page
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return true if the Admin navbar is visible
+     */
+    public boolean isNavbarDisplayed() {
+        return navbarDisplayed;
+    }
+
+    @Override
+    public String toString() {
+        return "title='" + title + "', navbarDisplayed=" + navbarDisplayed;
+    }
+}
@@ -1,7 +1,15 @@
 package pages;
 
+import elements.ElementCache;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.TimeoutException;
+import utils.AdminAuthService;
+import utils.ConfigReader;
+import utils.DomSnapshot;
+
+import java.net.URI;
 
 /**
  * Page Object for the Admin Rooms management page.
@@ -14,6 +22,31 @@ public class AdminRoomsPage extends AdminBasePage {
         super();
     }
 
+    /**
+     * Opens the Admin Rooms Page directly with a cached admin session instead of filling in the login form.
+     * The session token is obtained once per credential set over HTTP (falling back to a UI login)
+     * and injected as a cookie before the page is opened.
+     *
+     * @return this page, loaded and authenticated
+     */
+    @Step("Open Admin Rooms Page with cached admin session")
+    public AdminRoomsPage openAuthenticated() {
+        String username = ConfigReader.getLocalProperty("username");
+        String password = ConfigReader.getLocalProperty("password");
+        String token = AdminAuthService.getSessionToken(username, password, () -> login(username, password));
+
+        injectSessionCookie(token);
+        openUrl("baseUrlAdminRooms");
+        try {
+            waitForPageToLoad();
+        } catch (TimeoutException e) {
+            // The server no longer accepts the token, so the next call has to log in again
+            AdminAuthService.invalidate(username, password);
+            throw e;
+        }
+        return this;
+    }
+
     /**
      * Waits for the Admin Rooms Page to fully load.
      */
@@ -23,4 +56,51 @@ public class AdminRoomsPage extends AdminBasePage {
         logger.info("Waiting for 'Create Room' button to be visible on Admin Rooms Page");
         waitForPageToLoad(createRoomBtn);
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if the 'Create Room' button is visible in a snapshot taken earlier, without a WebDriver call.
+     *
+     * @param snapshot Snapshot of the page
+     */
+    public boolean isCreateRoomBtnDisplayedIn(DomSnapshot snapshot) {
+        return snapshot.isDisplayed(createRoomBtn);
+    }
+
+    /**
+     * Logs in over HTTP, or through the login form if the HTTP login is not available.
+     *
+     * @return New session token
+     */
+    private String login(String username, String password) {
+        try {
+            return AdminAuthService.loginOverHttp(username, password);
+        } catch (IllegalStateException e) {
+            logger.warn("HTTP login failed, logging in through the UI: {}", e.getMessage());
+        }
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        loginPage.loginAs(username, password);
+        waitForPageToLoad();
+        Cookie cookie = driver.manage().getCookieNamed(AdminAuthService.getCookieName());
+        if (cookie == null) {
+            throw new IllegalStateException("No '" + AdminAuthService.getCookieName() + "' cookie after UI login");
+        }
+        return cookie.getValue();
+    }
+
+    /**
+     * Sets the session cookie for the admin origin. Cookies can only be added for the origin
+     * the browser is on, so a lightweight page of that origin is opened first if needed.
+     */
+    private void injectSessionCookie(String token) {
+        URI adminUri = ConfigReader.snapshot().getUri("baseUrlAdminRooms");
+        String origin = adminUri.getScheme() + "://" + adminUri.getAuthority();
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || !currentUrl.startsWith(origin)) {
+            ElementCache.invalidateAll();
+            driver.get(origin + ConfigReader.getConfigProperty("authCookieBootstrapPath", "/favicon.ico"));
+        }
+        driver.manage().addCookie(new Cookie(AdminAuthService.getCookieName(), token, "/"));
+        logger.info("Injected cached admin session cookie for {}", origin);
+    }
+}
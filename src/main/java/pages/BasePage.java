@@ -1,14 +1,18 @@
 package pages;
 
+import elements.ElementCache;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.BrowserWaits;
 import utils.ConfigReader;
+import utils.DomSnapshot;
 import utils.DriverManager;
+import utils.PerformanceBudgets;
+import utils.TimeoutPolicy;
 
 /**
  * Abstract base class for all page objects.
@@ -18,10 +22,13 @@ public abstract class BasePage {
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+    // Resolved elements of this page, reused until the page is navigated away from
+    protected final ElementCache elements;
 
     public BasePage() {
         this.driver = DriverManager.getDriver();;
         this.wait = DriverManager.getWait();
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -31,13 +38,19 @@ public abstract class BasePage {
 
     /**
      * Waits for the provided element locator to be visible on the page.
+     * The wait is event-driven inside the browser and returns as soon as the element is visible,
+     * falling back to polling when the browser cannot run the wait script.
+     * The timeout is learned from earlier runs of this wait (see {@link TimeoutPolicy}).
+     * Once the page is loaded, its Navigation Timing metrics are checked against the page's performance budgets.
      *
      * @param element Locator of the element that signifies the page is loaded.
      */
     @Step("Wait for page to load: {element}")
     protected void waitForPageToLoad(By element) {
         logger.info("Waiting for visibility of element: {}", element);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(element));
+        TimeoutPolicy.getShared().await(driver, getClass().getSimpleName() + ": " + element,
+                DriverManager.getWaitTimeout(), timeout -> BrowserWaits.waitForVisible(driver, element, timeout));
+        PerformanceBudgets.check(getClass().getSimpleName(), driver);
     }
 
     /**
@@ -59,9 +72,23 @@ public abstract class BasePage {
     protected void openUrl(String urlKey) {
         String urlToOpen = getUrl(urlKey);
         logger.info("Opening URL: {}", urlToOpen);
+        ElementCache.invalidateAll();
         driver.get(urlToOpen);
     }
 
+    /**
+     * Takes a snapshot of the current page (DOM plus computed visibility) in a single round trip.
+     * Use it to run many checks locally instead of one WebDriver call per check.
+     *
+     * @return Snapshot of the page
+     */
+    @Step("Take DOM snapshot of the page")
+    public DomSnapshot snapshot() {
+        DomSnapshot snapshot = DomSnapshot.capture(driver);
+        logger.info("Took DOM snapshot of page: {}", snapshot.getTitle());
+        return snapshot;
+    }
+
     /**
      * Retrieves the current browser page title.
      *
@@ -0,0 +1,191 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * AdminAuthService logs in to the admin area over HTTP and caches the resulting session token
+ * per credential set, so admin tests can start authenticated without going through the login form.
+ *
+ * Settings (system property > config.properties > default):
+ * - authUrl: login endpoint accepting {"username": ..., "password": ...} as JSON
+ * - authCookieName: name of the session cookie set by the login endpoint (default "token")
+ * - authSessionTtlMinutes: how long a cached token is reused (default 30)
+ */
+public class AdminAuthService {
+    private static final Logger logger = LoggerFactory.getLogger(AdminAuthService.class);
+
+    private static final Pattern TOKEN_IN_BODY = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(Timeouts.MEDIUM.getSeconds()))
+            .build();
+
+    // Cached sessions keyed by credential set; values are replaced once they expire
+    private static final Map<String, AdminSession> sessions = new ConcurrentHashMap<>();
+
+    // One lock per credential set, so concurrent callers share a login without blocking the session map
+    private static final Map<String, Object> loginLocks = new ConcurrentHashMap<>();
+
+    private AdminAuthService() {
+    }
+
+    /**
+     * Returns a valid session token for the given credentials, logging in over HTTP only if no
+     * unexpired token is cached.
+     *
+     * @param username Admin username
+     * @param password Admin password
+     * @return Session token to be set as the session cookie
+     */
+    public static String getSessionToken(String username, String password) {
+        return getSessionToken(username, password, () -> loginOverHttp(username, password));
+    }
+
+    /**
+     * Returns a valid session token for the given credentials, obtaining a new one with the given
+     * login function only if no unexpired token is cached. Concurrent callers with the same credentials
+     * share a single login.
+     *
+     * @param username Admin username
+     * @param password Admin password
+     * @param login    Performs the login and returns the new session token (e.g. via the UI)
+     * @return Session token to be set as the session cookie
+     */
+    public static String getSessionToken(String username, String password, Supplier<String> login) {
+        String key = credentialKey(username, password);
+        AdminSession cached = sessions.get(key);
+        if (cached == null || cached.isExpired()) {
+            synchronized (loginLocks.computeIfAbsent(key, k -> new Object())) {
+                cached = sessions.get(key);
+                if (cached == null || cached.isExpired()) {
+                    String token = login.get();
+                    cached = new AdminSession(token, Instant.now().plus(getTtl()));
+                    sessions.put(key, cached);
+                    logger.info("Cached new admin session for user '{}'", username);
+                    return token;
+                }
+            }
+        }
+        logger.debug("Reusing cached admin session for user '{}'", username);
+        return cached.token;
+    }
+
+    /**
+     * Drops the cached session for the given credentials, e.g. when the server rejected the token.
+     */
+    public static void invalidate(String username, String password) {
+        sessions.remove(credentialKey(username, password));
+        logger.info("Invalidated cached admin session for user '{}'", username);
+    }
+
+    /**
+     * Drops every cached session with the given token, e.g. after logging out with it.
+     */
+    public static void invalidateToken(String token) {
+        if (sessions.values().removeIf(session -> session.token.equals(token))) {
+            logger.info("Invalidated cached admin session after logout");
+        }
+    }
+
+    /**
+     * @return Name of the cookie that carries the admin session token.
+     */
+    public static String getCookieName() {
+        return ConfigReader.snapshot().get("authCookieName", "token");
+    }
+
+    /**
+     * Logs in by posting the credentials to the configured login endpoint.
+     * The token is taken from the session cookie or, if absent, from a "token" field of the JSON body.
+     *
+     * @throws IllegalStateException if the login fails or no token is returned
+     */
+    public static String loginOverHttp(String username, String password) {
+        String authUrl = ConfigReader.snapshot().get("authUrl", ConfigReader.getConfigProperty("baseUrl") + "api/auth/login");
+        String body = "{\"username\":\"" + escapeJson(username) + "\",\"password\":\"" + escapeJson(password) + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(authUrl))
+                .timeout(Duration.ofSeconds(Timeouts.MEDIUM.getSeconds()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Admin login request to " + authUrl + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during admin login request", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Admin login to " + authUrl + " returned HTTP " + response.statusCode());
+        }
+
+        String token = extractToken(response);
+        if (token == null) {
+            throw new IllegalStateException("Admin login to " + authUrl + " returned no session token");
+        }
+        logger.info("Logged in as '{}' over HTTP in {} ms", username, (System.nanoTime() - start) / 1_000_000);
+        return token;
+    }
+
+    private static String extractToken(HttpResponse<String> response) {
+        String prefix = getCookieName() + "=";
+        List<String> cookies = response.headers().allValues("Set-Cookie");
+        for (String cookie : cookies) {
+            if (cookie.startsWith(prefix)) {
+                int end = cookie.indexOf(';');
+                return cookie.substring(prefix.length(), end < 0 ? cookie.length() : end);
+            }
+        }
+        Matcher matcher = TOKEN_IN_BODY.matcher(response.body());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String credentialKey(String username, String password) {
+        return username + '\u0000' + password;
+    }
+
+    private static String escapeJson(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static Duration getTtl() {
+        return ConfigReader.snapshot().getDuration("authSessionTtlMinutes", ChronoUnit.MINUTES, Duration.ofMinutes(30));
+    }
+
+    /**
+     * A cached session token with its expiry time.
+     */
+    private static class AdminSession {
+        private final String token;
+        private final Instant expiresAt;
+
+        private AdminSession(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return Instant.now().isAfter(expiresAt);
+        }
+    }
+}
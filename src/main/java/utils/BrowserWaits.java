@@ -0,0 +1,146 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * BrowserWaits implements event-driven waits that are evaluated inside the browser.
+ *
+ * Instead of polling over the wire every 500 ms like {@link WebDriverWait}, a single asynchronous script
+ * installs a MutationObserver (plus a cheap in-browser re-check for CSS-only changes) and returns as soon
+ * as the condition holds. If the driver cannot run scripts or the locator has no CSS/XPath equivalent,
+ * the wait falls back to regular polling with {@link WebDriverWait}.
+ *
+ * Event-driven waits can be switched off with {@code waits.eventDriven=false}.
+ */
+public final class BrowserWaits {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserWaits.class);
+
+    // Longest single script call, kept below the default W3C script timeout of 30 seconds
+    private static final long MAX_SCRIPT_MILLIS = 25_000;
+
+    // Page navigations abort a running async script; retry on the new document a few times
+    private static final int MAX_SCRIPT_ATTEMPTS = 5;
+
+    private static final String WAIT_FOR_VISIBLE_SCRIPT =
+            "var using = arguments[0], selector = arguments[1], timeoutMs = arguments[2];"
+            + "var done = arguments[arguments.length - 1];"
+            + "function find() {"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return document.querySelector(selector);"
+            + "}"
+            + "function visible(el) {"
+            + "  if (!el || !el.isConnected) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'"
+            + "      || parseFloat(style.opacity) === 0) { return false; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  return rect.width > 0 && rect.height > 0;"
+            + "}"
+            + "var finished = false, observer = null, timer = null, recheck = null;"
+            + "function finish(result) {"
+            + "  if (finished) { return; }"
+            + "  finished = true;"
+            + "  if (observer) { observer.disconnect(); }"
+            + "  clearTimeout(timer); clearInterval(recheck);"
+            + "  done(result);"
+            + "}"
+            + "function check() {"
+            + "  try { if (visible(find())) { finish(true); } } catch (e) { finish('error: ' + e.message); }"
+            + "}"
+            + "check();"
+            + "if (!finished) {"
+            + "  observer = new MutationObserver(check);"
+            + "  observer.observe(document.documentElement || document, {childList: true, subtree: true, attributes: true});"
+            + "  recheck = setInterval(check, 100);"
+            + "  timer = setTimeout(function () { finish(false); }, timeoutMs);"
+            + "}";
+
+    private BrowserWaits() {
+    }
+
+    /**
+     * Waits until the element located by the given locator is present and visible.
+     *
+     * @param driver  WebDriver to wait on
+     * @param locator Locator of the element
+     * @param timeout Maximum time to wait
+     * @throws TimeoutException if the element did not become visible in time
+     */
+    public static void waitForVisible(WebDriver driver, By locator, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        try {
+            if (isEventDrivenEnabled() && driver instanceof JavascriptExecutor && Locators.getStrategy(locator) != null) {
+                if (waitInBrowser((JavascriptExecutor) driver, locator, timeout, deadline)) {
+                    return;
+                }
+            }
+            Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+            new WebDriverWait(driver, remaining).until(ExpectedConditions.visibilityOfElementLocated(locator));
+        } finally {
+            if (CommandMetrics.isEnabled()) {
+                CommandMetrics.record("wait", System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Runs the in-browser wait until it succeeds or the deadline passes.
+     *
+     * @return true if the element became visible; false if the caller should fall back to polling.
+     * @throws TimeoutException if the element did not become visible before the deadline
+     */
+    private static boolean waitInBrowser(JavascriptExecutor executor, By locator, Duration timeout, long deadline) {
+        String strategy = Locators.getStrategy(locator);
+        String selector = Locators.getSelector(locator);
+        int attempts = 0;
+        while (true) {
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for visibility of element located by "
+                        + locator + " (tried for " + timeout.toSeconds() + " second(s))");
+            }
+            Object result;
+            try {
+                result = executor.executeAsyncScript(WAIT_FOR_VISIBLE_SCRIPT, strategy, selector,
+                        Math.min(remainingMillis, MAX_SCRIPT_MILLIS));
+            } catch (UnsupportedCommandException e) {
+                logger.debug("Async scripts are not supported, polling for {}", locator);
+                return false;
+            } catch (WebDriverException e) {
+                // Most likely the document was replaced by a navigation while the script was waiting
+                if (++attempts >= MAX_SCRIPT_ATTEMPTS) {
+                    logger.debug("In-browser wait for {} failed {} times, polling instead: {}", locator, attempts, e.getMessage());
+                    return false;
+                }
+                continue;
+            }
+            if (Boolean.TRUE.equals(result)) {
+                return true;
+            }
+            if (result instanceof String) {
+                logger.debug("In-browser wait for {} failed ({}), polling instead", locator, result);
+                return false;
+            }
+            // false: the in-browser timer expired; loop again if time is left
+        }
+    }
+
+    private static boolean isEventDrivenEnabled() {
+        // Parsed once per configuration snapshot, which includes -Dwaits.eventDriven
+        return ConfigReader.snapshot().getBoolean("waits.eventDriven", true);
+    }
+}
@@ -0,0 +1,56 @@
+package utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Launches Chrome sessions configured for a {@link DriverProfile}.
+ */
+public class ChromeDriverFactory implements DriverFactory {
+
+    @Override
+    public String getBrowserName() {
+        return "chrome";
+    }
+
+    @Override
+    public WebDriver createDriver(DriverProfile profile) {
+        DriverBinaryResolver.resolve(getBrowserName());
+        WebDriver driver = new ChromeDriver(createOptions(profile));
+        ResourceInterceptor.attach(driver, profile);
+        return driver;
+    }
+
+    /**
+     * Builds Chrome options for the given profile.
+     */
+    private ChromeOptions createOptions(DriverProfile profile) {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(profile.getPageLoadStrategy()));
+        if (profile.isHeadless()) {
+            options.addArguments("--headless=new");
+        }
+        if (profile.hasWindowSize()) {
+            options.addArguments("--window-size=" + profile.getWindowWidth() + "," + profile.getWindowHeight());
+        }
+        if (profile.isExtensionsDisabled()) {
+            options.addArguments("--disable-extensions");
+        }
+        if (profile.isImagesDisabled()) {
+            // 2 = block images for all sites
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        // Keep the browser console log, attached to the report of failed tests
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability("goog:loggingPrefs", logging);
+        return options;
+    }
+}
@@ -0,0 +1,150 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommandMetrics records the latency of every WebDriver command per command type
+ * (findElement, click, sendKeys, get, getTitle, ...) and of the framework waits.
+ *
+ * Each thread records into its own set of {@link LatencyHistogram}s, so recording needs no locking.
+ * At the end of the suite the per-thread histograms are merged into p50/p95/p99 statistics,
+ * which can be logged and exported as CSV. Commands are timed by plain JDK proxies around the driver and the
+ * objects it hands out ({@link CommandTimingHandler}); the time spent in the proxies outside of the command
+ * is tracked separately, so the overhead is visible in the same report. The CommandLatencyBenchmark JMH benchmark
+ * measures the whole cost by comparing instrumented and plain round trips.
+ *
+ * Instrumentation is enabled with {@code metrics.commandLatency=true} (default false).
+ */
+public final class CommandMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(CommandMetrics.class);
+
+    // Histograms of every thread that recorded something, merged when the report is built
+    private static final Queue<Map<String, LatencyHistogram>> allThreadHistograms = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<Map<String, LatencyHistogram>> threadHistograms = ThreadLocal.withInitial(() -> {
+        Map<String, LatencyHistogram> histograms = new HashMap<>();
+        allThreadHistograms.add(histograms);
+        return histograms;
+    });
+
+    // Time spent in the instrumentation code itself
+    private static final LongAdder overheadNanos = new LongAdder();
+
+    private CommandMetrics() {
+    }
+
+    /**
+     * @return true if WebDriver commands should be instrumented.
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.snapshot().getBoolean("metrics.commandLatency", false);
+    }
+
+    /**
+     * Wraps a driver so that every command it executes is recorded.
+     *
+     * @param driver Driver to instrument
+     * @return Proxy implementing the same public interfaces as the original
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        return CommandTimingHandler.wrap(driver);
+    }
+
+    /**
+     * Records the duration of a command for the calling thread.
+     *
+     * @param command Command type, e.g. "findElement" or "wait"
+     * @param nanos   Duration in nanoseconds
+     */
+    public static void record(String command, long nanos) {
+        threadHistograms.get().computeIfAbsent(command, name -> new LatencyHistogram()).record(nanos / 1_000);
+    }
+
+    /**
+     * Adds time spent inside the instrumentation, used to report its overhead.
+     */
+    static void recordOverhead(long nanos) {
+        overheadNanos.add(nanos);
+    }
+
+    /**
+     * Merges the histograms of all threads by command type.
+     * Should be called once recording has finished (e.g. in @AfterSuite).
+     *
+     * @return Merged histograms sorted by command name
+     */
+    public static Map<String, LatencyHistogram> aggregate() {
+        Map<String, LatencyHistogram> merged = new TreeMap<>();
+        for (Map<String, LatencyHistogram> histograms : allThreadHistograms) {
+            histograms.forEach((command, histogram) ->
+                    merged.computeIfAbsent(command, name -> new LatencyHistogram()).merge(histogram));
+        }
+        return merged;
+    }
+
+    /**
+     * Builds a CSV report with one line per command type. Latencies are in milliseconds.
+     */
+    public static String toCsv() {
+        StringBuilder csv = new StringBuilder("command,count,mean_ms,p50_ms,p95_ms,p99_ms,max_ms,total_ms\n");
+        aggregate().forEach((command, histogram) -> csv.append(String.format(Locale.ROOT,
+                "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.1f%n", command, histogram.getCount(),
+                histogram.getMeanMicros() / 1000.0, histogram.getPercentile(50) / 1000.0,
+                histogram.getPercentile(95) / 1000.0, histogram.getPercentile(99) / 1000.0,
+                histogram.getMaxMicros() / 1000.0, histogram.getTotalMicros() / 1000.0)));
+        return csv.toString();
+    }
+
+    /**
+     * Logs the per-command statistics and the instrumentation overhead, and writes the CSV report
+     * to {@code metrics.commandLatency.csv} (default target/command-latency.csv).
+     *
+     * @return The CSV report, e.g. to attach it to the test report
+     */
+    public static String report() {
+        Map<String, LatencyHistogram> merged = aggregate();
+        long commands = 0;
+        long commandMicros = 0;
+        for (Map.Entry<String, LatencyHistogram> entry : merged.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            commands += histogram.getCount();
+            commandMicros += histogram.getTotalMicros();
+            logger.info("{}: count={}, p50={}ms, p95={}ms, p99={}ms, max={}ms", entry.getKey(), histogram.getCount(),
+                    histogram.getPercentile(50) / 1000.0, histogram.getPercentile(95) / 1000.0,
+                    histogram.getPercentile(99) / 1000.0, histogram.getMaxMicros() / 1000.0);
+        }
+        long overheadMicros = overheadNanos.sum() / 1_000;
+        logger.info("Instrumentation overhead: {} ms for {} command(s) "
+                        + "({} ns per command, {}% of command time)",
+                overheadMicros / 1000.0, commands, commands == 0 ? 0 : overheadMicros * 1000 / commands,
+                commandMicros == 0 ? 0 : String.format(Locale.ROOT, "%.3f", 100.0 * overheadMicros / commandMicros));
+
+        String csv = toCsv();
+        Path csvFile = Paths.get(ConfigReader.snapshot().get("metrics.commandLatency.csv", "target/command-latency.csv"));
+        try {
+            if (csvFile.getParent() != null) {
+                Files.createDirectories(csvFile.getParent());
+            }
+            Files.writeString(csvFile, csv, StandardCharsets.UTF_8);
+            logger.info("Command latency report written to {}", csvFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to write command latency report {}: {}", csvFile, e.getMessage());
+        }
+        return csv;
+    }
+}
@@ -0,0 +1,153 @@
+package utils;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * InvocationHandler of the JDK proxies that {@link CommandMetrics} puts around a driver and the objects it hands out
+ * (elements, options, navigation, target locator, alerts). Each call is timed and recorded under the method name.
+ *
+ * A JDK proxy class is generated once per set of interfaces and then reused, so wrapping another element only
+ * allocates the proxy object, unlike the per-element proxy classes of Selenium's EventFiringDecorator.
+ * Proxied arguments are unwrapped before a call, so the driver only ever sees its own objects.
+ */
+final class CommandTimingHandler implements InvocationHandler {
+
+    // Calls that only return another local object
+    private static final Set<String> UNTIMED_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs", "getWrappedDriver", "getWrappedElement");
+
+    // Public interfaces of each proxied class (plus WrapsElement for elements), collected once per class
+    private static final ClassValue<Class<?>[]> PROXY_INTERFACES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                collectInterfaces(current, interfaces);
+            }
+            if (interfaces.contains(WebElement.class)) {
+                interfaces.add(WrapsElement.class);
+            }
+            return interfaces.toArray(new Class<?>[0]);
+        }
+    };
+
+    private final Object target;
+
+    private CommandTimingHandler(Object target) {
+        this.target = target;
+    }
+
+    /**
+     * @return A timing proxy implementing the public interfaces of the target
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T wrap(T target) {
+        if (target == null || unwrap(target) != target) {
+            return target;
+        }
+        return (T) Proxy.newProxyInstance(CommandTimingHandler.class.getClassLoader(),
+                PROXY_INTERFACES.get(target.getClass()), new CommandTimingHandler(target));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (method.getDeclaringClass() == Object.class) {
+            return "equals".equals(name) ? target.equals(unwrap(args[0])) : method.invoke(target, args);
+        }
+        if ("getWrappedElement".equals(name) && !(target instanceof WrapsElement)) {
+            return target;
+        }
+        long entered = System.nanoTime();
+        Object[] targetArgs = unwrapArguments(args);
+        boolean timed = !UNTIMED_METHODS.contains(name);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(target, targetArgs);
+        } catch (InvocationTargetException e) {
+            // Failed commands (e.g. NoSuchElementException) took time as well
+            finish(name, timed, entered, start);
+            throw e.getCause();
+        }
+        finish(name, timed, entered, start);
+        long wrapStart = System.nanoTime();
+        Object wrapped = wrapResult(method, result);
+        CommandMetrics.recordOverhead(System.nanoTime() - wrapStart);
+        return wrapped;
+    }
+
+    private static void finish(String name, boolean timed, long entered, long start) {
+        long end = System.nanoTime();
+        if (timed) {
+            CommandMetrics.record(name, end - start);
+        }
+        CommandMetrics.recordOverhead(start - entered + System.nanoTime() - end);
+    }
+
+    /**
+     * Wraps elements and the driver's option, navigation, target locator and alert objects, so calls on them are timed.
+     */
+    private static Object wrapResult(Method method, Object result) {
+        if (result == null) {
+            return null;
+        }
+        Class<?> type = method.getReturnType();
+        if (type == List.class && method.getName().equals("findElements")) {
+            List<Object> elements = new ArrayList<>(((List<?>) result).size());
+            for (Object element : (List<?>) result) {
+                elements.add(wrap(element));
+            }
+            return elements;
+        }
+        boolean wrapped = type == WebElement.class || type == WebDriver.class || type == Alert.class
+                || type.getEnclosingClass() == WebDriver.class;
+        return wrapped ? wrap(result) : result;
+    }
+
+    private static Object[] unwrapArguments(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] unwrapped = args;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i] instanceof Object[] ? unwrapArguments((Object[]) args[i]) : unwrap(args[i]);
+            if (arg != args[i]) {
+                if (unwrapped == args) {
+                    unwrapped = args.clone();
+                }
+                unwrapped[i] = arg;
+            }
+        }
+        return unwrapped;
+    }
+
+    private static Object unwrap(Object value) {
+        if (value != null && Proxy.isProxyClass(value.getClass())
+                && Proxy.getInvocationHandler(value) instanceof CommandTimingHandler) {
+            return ((CommandTimingHandler) Proxy.getInvocationHandler(value)).target;
+        }
+        return value;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (Modifier.isPublic(candidate.getModifiers()) && interfaces.add(candidate)) {
+                collectInterfaces(candidate, interfaces);
+            }
+        }
+    }
+}
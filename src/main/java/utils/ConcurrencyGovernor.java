@@ -0,0 +1,228 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrencyGovernor sizes browser parallelism to the host instead of a fixed thread count.
+ *
+ * Before the suite starts, {@link #chooseConcurrency()} derives the number of parallel browsers from the available
+ * cores and free memory (each browser is budgeted {@code concurrency.coresPerBrowser} cores and
+ * {@code concurrency.memoryPerBrowserMb} of memory). While tests run, {@link #awaitCapacity(String)} holds back new
+ * driver leases as long as the host is saturated: CPU load above {@code concurrency.maxCpuLoad}, or not enough free
+ * memory left for one more browser. The memory needed per browser is learned from the resident set size (RSS) of
+ * the browser and driver processes started by this JVM, where the platform exposes it (/proc on Linux).
+ * A lease is never held back while no other lease is active, so the suite always makes progress.
+ *
+ * Settings (system property > config.properties > default):
+ * - concurrency.mode: adaptive, or fixed to keep the thread-count of testng.xml (default fixed)
+ * - concurrency.max: upper limit for the chosen concurrency (default 8)
+ * - concurrency.coresPerBrowser: cores budgeted per browser (default 1.0)
+ * - concurrency.memoryPerBrowserMb: memory budgeted per browser until RSS has been observed (default 500)
+ * - concurrency.reserveMemoryMb: memory kept free for the OS and the test JVM (default 1024)
+ * - concurrency.maxCpuLoad: system CPU load (0..1) above which leases are held back (default 0.9)
+ * - concurrency.maxThrottleSeconds: longest time a lease is held back before it proceeds anyway (default 60)
+ */
+public final class ConcurrencyGovernor {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyGovernor.class);
+
+    private static final long THROTTLE_POLL_MILLIS = 500;
+
+    private static final AtomicInteger activeLeases = new AtomicInteger();
+    private static final LongAdder throttleCount = new LongAdder();
+    private static final LongAdder throttleMillis = new LongAdder();
+
+    private ConcurrencyGovernor() {
+    }
+
+    /**
+     * @return true if concurrency.mode is adaptive
+     */
+    public static boolean isAdaptive() {
+        return "adaptive".equalsIgnoreCase(ConfigReader.snapshot().get("concurrency.mode", "fixed").trim());
+    }
+
+    /**
+     * Chooses the number of parallel browsers for this host from its cores and free memory.
+     *
+     * @return Concurrency between 1 and concurrency.max
+     */
+    public static int chooseConcurrency() {
+        HostLoad load = HostLoad.sample();
+        int cores = Runtime.getRuntime().availableProcessors();
+        long browserMb = getBrowserMemoryMb(load);
+        int concurrency = computeConcurrency(cores, load.getFreeMemoryMb(), browserMb);
+        logger.info("Chose concurrency {} for {} core(s), {} MB free memory and {} MB per browser",
+                concurrency, cores, load.getFreeMemoryMb(), browserMb);
+        return concurrency;
+    }
+
+    /**
+     * Computes how many browsers fit on the host.
+     *
+     * @param cores        Available cores
+     * @param freeMemoryMb Free physical memory
+     * @param browserMb    Memory needed per browser
+     * @return Concurrency between 1 and concurrency.max
+     */
+    public static int computeConcurrency(int cores, long freeMemoryMb, long browserMb) {
+        int byCores = (int) (cores / ConfigReader.snapshot().getDouble("concurrency.coresPerBrowser", 1.0));
+        long byMemory = (freeMemoryMb - ConfigReader.snapshot().getLong("concurrency.reserveMemoryMb", 1024)) / Math.max(1, browserMb);
+        int max = ConfigReader.snapshot().getInt("concurrency.max", 8);
+        return (int) Math.max(1, Math.min(max, Math.min(byCores, byMemory)));
+    }
+
+    /**
+     * Waits while the host is saturated before a driver is leased, and registers the lease.
+     * Every call must be followed by {@link #leaseEnded()} once the driver is released.
+     *
+     * @param browser Browser the lease is for, used for logging
+     */
+    public static void awaitCapacity(String browser) {
+        if (!isAdaptive()) {
+            activeLeases.incrementAndGet();
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + ConfigReader.snapshot().getLong("concurrency.maxThrottleSeconds", 60) * 1_000_000_000L;
+        boolean throttled = false;
+        HostLoad load = HostLoad.sample();
+        while (activeLeases.get() > 0 && isSaturated(load, getBrowserMemoryMb(load)) && System.nanoTime() < deadline) {
+            if (!throttled) {
+                throttled = true;
+                throttleCount.increment();
+                logger.info("Throttling '{}' lease with {} active: CPU load {}%, {} MB free memory",
+                        browser, activeLeases.get(), Math.round(load.getCpuLoad() * 100), load.getFreeMemoryMb());
+            }
+            try {
+                Thread.sleep(THROTTLE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            load = HostLoad.sample();
+        }
+        activeLeases.incrementAndGet();
+        if (throttled) {
+            long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+            throttleMillis.add(waitedMillis);
+            logger.info("Released '{}' lease after {} ms: CPU load {}%, {} MB free memory",
+                    browser, waitedMillis, Math.round(load.getCpuLoad() * 100), load.getFreeMemoryMb());
+        }
+    }
+
+    /**
+     * Unregisters a lease registered by {@link #awaitCapacity(String)}.
+     */
+    public static void leaseEnded() {
+        activeLeases.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Decides whether one more browser would overload the host.
+     *
+     * @param load      Current host load
+     * @param browserMb Memory needed per browser
+     * @return true if the CPU is busier than concurrency.maxCpuLoad or there is no room for another browser
+     */
+    public static boolean isSaturated(HostLoad load, long browserMb) {
+        double maxCpuLoad = ConfigReader.snapshot().getDouble("concurrency.maxCpuLoad", 0.9);
+        long requiredMb = ConfigReader.snapshot().getLong("concurrency.reserveMemoryMb", 1024) + browserMb;
+        return load.getCpuLoad() > maxCpuLoad || load.getFreeMemoryMb() < requiredMb;
+    }
+
+    /**
+     * Logs how often and how long leases were held back during this run.
+     */
+    public static void logSummary() {
+        if (isAdaptive()) {
+            logger.info("Concurrency governor: {} lease(s) throttled for {} ms in total",
+                    throttleCount.sum(), throttleMillis.sum());
+        }
+    }
+
+    /**
+     * Memory per browser: the observed RSS per live session, or the configured budget before any is observed.
+     */
+    private static long getBrowserMemoryMb(HostLoad load) {
+        int sessions = DriverManager.getLiveSessionCount();
+        if (sessions > 0 && load.getBrowserRssMb() > 0) {
+            return load.getBrowserRssMb() / sessions;
+        }
+        return ConfigReader.snapshot().getLong("concurrency.memoryPerBrowserMb", 500);
+    }
+
+    /**
+     * A sample of the host's CPU load, free memory and the memory of the browser processes started by this JVM.
+     */
+    public static class HostLoad {
+        private final double cpuLoad;
+        private final long freeMemoryMb;
+        private final long browserRssMb;
+
+        /**
+         * @param cpuLoad      System CPU load between 0 and 1 (negative if unknown)
+         * @param freeMemoryMb Free physical memory
+         * @param browserRssMb Resident memory of all driver and browser processes (0 if unknown)
+         */
+        public HostLoad(double cpuLoad, long freeMemoryMb, long browserRssMb) {
+            this.cpuLoad = cpuLoad;
+            this.freeMemoryMb = freeMemoryMb;
+            this.browserRssMb = browserRssMb;
+        }
+
+        /**
+         * Samples the current load of the host.
+         */
+        public static HostLoad sample() {
+            com.sun.management.OperatingSystemMXBean os =
+                    (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            return new HostLoad(os.getCpuLoad(), os.getFreeMemorySize() / (1024 * 1024), readBrowserRssMb());
+        }
+
+        public double getCpuLoad() {
+            return cpuLoad;
+        }
+
+        public long getFreeMemoryMb() {
+            return freeMemoryMb;
+        }
+
+        public long getBrowserRssMb() {
+            return browserRssMb;
+        }
+
+        /**
+         * Sums VmRSS of all processes started by this JVM (drivers and their browsers) from /proc.
+         *
+         * @return Resident memory in MB, 0 where /proc is not available
+         */
+        private static long readBrowserRssMb() {
+            long kilobytes = 0;
+            for (ProcessHandle process : ProcessHandle.current().descendants().toList()) {
+                Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+                try {
+                    List<String> lines = Files.readAllLines(status);
+                    for (String line : lines) {
+                        if (line.startsWith("VmRSS:")) {
+                            kilobytes += Long.parseLong(line.replaceAll("[^0-9]", ""));
+                            break;
+                        }
+                    }
+                } catch (IOException | NumberFormatException e) {
+                    // Not Linux, or the process has exited in the meantime
+                }
+            }
+            return kilobytes / 1024;
+        }
+    }
+}
@@ -1,8 +1,26 @@
 package utils;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Properties;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,34 +32,109 @@ import org.slf4j.LoggerFactory;
  *
  * This allows better separation of secrets from general settings and makes it easier
  * to manage configurations across different environments.
+ *
+ * Both are merged once into an immutable {@link ConfigSnapshot}, together with the profile files
+ * (config-&lt;profile&gt;.properties for every profile in config.profile), environment variables
+ * (e.g. CONFIG_BASEURL) and system properties (e.g. -DbaseUrl=...). The snapshot is swapped atomically on
+ * {@link #reload()}, so lookups never lock and never see a half-read file. With config.watch=true the files are
+ * watched and reloaded when they change, for long-lived runner JVMs.
+ *
+ * Files are read from config.dir (default src/main/resources, so edits apply without a rebuild),
+ * falling back to the classpath. local.properties is optional; missing secrets fail when they are read.
+ *
+ * Settings (system property > environment variable):
+ * - config.dir / CONFIG_DIR: directory of the configuration files (default src/main/resources)
+ * - config.profile / CONFIG_PROFILE: comma-separated profiles layered over config.properties (default none)
+ * - config.watch / CONFIG_WATCH: reload when a file changes (default false)
  */
 public class ConfigReader {
     // Logger initialization for logging in this class
     private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
 
-    // Properties object to store public config (e.g., environment URLs)
-    private static final Properties configProps = new Properties();
+    // Values set at runtime with setConfigProperty, kept across reloads
+    private static final Map<String, String> overrides = new ConcurrentHashMap<>();
+
+    // Current snapshot, replaced as a whole on reload and on overrides
+    private static final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
 
-    // Properties object to store sensitive or machine-specific data (e.g., login, password)
-    private static final Properties secretProps = new Properties();
+    private static Thread watcher;
 
     // Static block is executed once when the class is loaded
     static {
-        try {
-            // Load general configurations from src/main/resources/config.properties
-            logger.info("Loading config.properties...");
-            FileInputStream configFile = new FileInputStream("src/main/resources/config.properties");
-            configProps.load(configFile);
+        reload();
+        if (Boolean.parseBoolean(getBootstrapSetting("config.watch", "false"))) {
+            watch();
+        }
+    }
 
-            // Load secrets from local.properties (should be excluded from version control)
-            logger.info("Loading local.properties...");
-            FileInputStream secretFile = new FileInputStream("src/main/resources/local.properties");
-            secretProps.load(secretFile);
+    /**
+     * @return The current configuration snapshot, for typed lookups (ints, booleans, durations, URLs)
+     */
+    public static ConfigSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Reads all configuration files again and replaces the snapshot. Runtime overrides are kept.
+     * If the files cannot be read, the previous snapshot stays in use (at startup, a RuntimeException is thrown
+     * to prevent tests from running without configuration).
+     */
+    public static synchronized void reload() {
+        try {
+            List<URL> configFiles = new ArrayList<>();
+            configFiles.add(locate("config.properties", true));
+            for (String profile : getBootstrapSetting("config.profile", "").split(",")) {
+                if (!profile.isBlank()) {
+                    configFiles.add(locate("config-" + profile.trim() + ".properties", true));
+                }
+            }
+            URL localFile = locate("local.properties", false);
+            ConfigSnapshot loaded = ConfigSnapshot.load(configFiles, localFile != null ? List.of(localFile) : List.of(),
+                    System.getenv(), System.getProperties(), overrides);
+            snapshot.set(loaded);
+            logger.info("Loaded configuration from {}", loaded.getSources());
+        } catch (UncheckedIOException | IllegalStateException e) {
+            if (snapshot.get() == null) {
+                // If the files cannot be loaded, throw a runtime exception to prevent tests from running
+                logger.error("Failed to load configuration files", e);
+                throw new RuntimeException("Failed to load configuration files", e);
+            }
+            logger.error("Failed to reload configuration files, keeping the previous configuration", e);
+        }
+    }
 
+    /**
+     * Starts a daemon thread that reloads the configuration when one of its files changes.
+     * Only files on the file system are watched, not files inside jars.
+     */
+    public static synchronized void watch() {
+        if (watcher != null) {
+            return;
+        }
+        Set<Path> dirs = new LinkedHashSet<>();
+        for (String source : snapshot().getSources()) {
+            if (source.startsWith("file:")) {
+                try {
+                    dirs.add(Paths.get(new URL(source).toURI()).getParent());
+                } catch (Exception e) {
+                    logger.warn("Cannot watch configuration file {}: {}", source, e.getMessage());
+                }
+            }
+        }
+        dirs.add(getConfigDir().toAbsolutePath());
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            for (Path dir : dirs) {
+                if (Files.isDirectory(dir)) {
+                    dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+            watcher = new Thread(() -> watchLoop(service), "config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+            logger.info("Watching configuration files in {}", dirs);
         } catch (IOException e) {
-            // If the file cannot be loaded, throw a runtime exception to prevent tests from running
-            logger.error("Failed to load configuration files", e);
-            throw new RuntimeException("Failed to load configuration files", e);
+            logger.warn("Cannot watch configuration files: {}", e.getMessage());
         }
     }
 
@@ -58,7 +151,7 @@ public class ConfigReader {
      */
 
     public static String getConfigProperty(String key) {
-        String value = configProps.getProperty(key);
+        String value = snapshot.get().get(key);
         if (value == null) {
             logger.error("Missing required configuration property: {}", key);
             throw new RuntimeException("Missing required configuration property: " + key);
@@ -66,6 +159,36 @@ public class ConfigReader {
         return value;
     }
 
+    /**
+     * Retrieves the value associated with the given key from the config.properties file,
+     * falling back to the provided default when the key is not defined.
+     *
+     * Intended for optional tuning settings (pool sizes, limits) that have a sensible default.
+     *
+     * @param key          The property key to retrieve from config.properties.
+     * @param defaultValue The value returned when the key is missing.
+     * @return The configured value, or the default value if the key is not present.
+     */
+    public static String getConfigProperty(String key, String defaultValue) {
+        return snapshot.get().get(key, defaultValue);
+    }
+
+    /**
+     * Overrides a config.properties value for the rest of the run, e.g. to point the URLs
+     * at a locally started stand-in server. The file itself is not changed, and the override
+     * is kept when the configuration is reloaded.
+     *
+     * @param key   The property key to override.
+     * @param value The new value.
+     */
+    public static void setConfigProperty(String key, String value) {
+        logger.info("Overriding configuration property {}={}", key, value);
+        synchronized (ConfigReader.class) {
+            overrides.put(key, value);
+            snapshot.set(snapshot.get().with(key, value));
+        }
+    }
+
 
     /**
      * Retrieves the value associated with the given key from the local.properties file,
@@ -79,11 +202,69 @@ public class ConfigReader {
      */
 
     public static String getLocalProperty(String key) {
-        String value = secretProps.getProperty(key);
+        String value = snapshot.get().getSecret(key);
         if (value == null) {
             logger.error("Missing required local property: {}", key);
             throw new RuntimeException("Missing required local property: " + key);
         }
         return value;
     }
+
+    /**
+     * Finds a configuration file in config.dir, then on the classpath.
+     *
+     * @param required Throw if the file does not exist
+     * @return Location of the file, or null if an optional file does not exist
+     */
+    private static URL locate(String fileName, boolean required) {
+        Path file = getConfigDir().resolve(fileName);
+        if (Files.isRegularFile(file)) {
+            try {
+                return file.toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException("Invalid configuration file path " + file, e);
+            }
+        }
+        URL resource = ConfigReader.class.getClassLoader().getResource(fileName);
+        if (resource == null && required) {
+            throw new IllegalStateException("Configuration file " + fileName + " not found in "
+                    + getConfigDir().toAbsolutePath() + " or on the classpath");
+        }
+        return resource;
+    }
+
+    private static Path getConfigDir() {
+        return Paths.get(getBootstrapSetting("config.dir", "src/main/resources"));
+    }
+
+    /**
+     * Reads a setting that selects the configuration itself, so it cannot come from the files:
+     * system property > environment variable > default.
+     */
+    private static String getBootstrapSetting(String key, String defaultValue) {
+        String fromEnvironment = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        return System.getProperty(key, fromEnvironment != null ? fromEnvironment : defaultValue);
+    }
+
+    private static void watchLoop(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    String name = String.valueOf(event.context());
+                    changed |= name.endsWith(".properties")
+                            && (name.startsWith("config") || name.equals("local.properties"));
+                }
+                key.reset();
+                if (changed) {
+                    // Editors often write a file in several steps; let them finish before reading it
+                    Thread.sleep(200);
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
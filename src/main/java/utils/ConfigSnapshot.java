@@ -0,0 +1,329 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ConfigSnapshot is an immutable view of the configuration, merged once from its layers (later layers win):
+ * 1. config files, in the given order (config.properties, then the files of the active profiles)
+ * 2. environment variables named after a key: {@code CONFIG_} + the key in upper case with '.' and '-' as '_'
+ *    (e.g. CONFIG_BUDGET_MODE for budget.mode, CONFIG_PASSWORD for password)
+ * 3. system properties with the name of a key (e.g. -DbaseUrl=...)
+ * 4. overrides set at runtime ({@link ConfigReader#setConfigProperty(String, String)})
+ * Keys that no file defines are looked up in the same layers, so the snapshot is the single place settings are
+ * read from. System properties and environment variables are captured when the snapshot is loaded.
+ * Secrets (local.properties) are kept apart from the other settings and are overridden the same way;
+ * a secret key is never looked up as a config setting.
+ *
+ * Lookups read plain maps without locking. Typed values are parsed on first use and cached in the snapshot,
+ * so repeated lookups neither parse nor allocate; a changed file produces a new snapshot instead of
+ * changing this one.
+ */
+public final class ConfigSnapshot {
+    private static final String ENV_PREFIX = "CONFIG_";
+
+    // Environment variable names of the keys looked up so far
+    private static final Map<String, String> environmentNames = new ConcurrentHashMap<>();
+
+    private final Map<String, String> config;
+    private final Map<String, String> secrets;
+    // Layers for keys that no file defines: system properties by key, CONFIG_ environment variables by name
+    private final Map<String, String> systemProperties;
+    private final Map<String, String> environment;
+    private final List<String> sources;
+
+    // Parsed values of present keys; defaults are never cached
+    private final Map<String, Integer> ints = new ConcurrentHashMap<>();
+    private final Map<String, Long> longs = new ConcurrentHashMap<>();
+    private final Map<String, Double> doubles = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> booleans = new ConcurrentHashMap<>();
+    private final Map<String, Duration> durations = new ConcurrentHashMap<>();
+    private final Map<String, URI> uris = new ConcurrentHashMap<>();
+
+    private ConfigSnapshot(Map<String, String> config, Map<String, String> secrets, Map<String, String> systemProperties,
+                           Map<String, String> environment, List<String> sources) {
+        this.config = Collections.unmodifiableMap(config);
+        this.secrets = Collections.unmodifiableMap(secrets);
+        this.systemProperties = Collections.unmodifiableMap(systemProperties);
+        this.environment = Collections.unmodifiableMap(environment);
+        this.sources = List.copyOf(sources);
+    }
+
+    /**
+     * Reads the files and merges all layers into a snapshot.
+     *
+     * @param configFiles      Config files, lowest priority first
+     * @param secretFiles      Secret files (local.properties), lowest priority first
+     * @param environment      Environment variables, usually {@link System#getenv()}
+     * @param systemProperties System properties, usually {@link System#getProperties()}
+     * @param overrides        Values set at runtime, applied to the config settings last
+     * @return New snapshot
+     * @throws UncheckedIOException if a file cannot be read
+     */
+    public static ConfigSnapshot load(List<URL> configFiles, List<URL> secretFiles, Map<String, String> environment,
+                                      Properties systemProperties, Map<String, String> overrides) {
+        Map<String, String> config = new HashMap<>();
+        Map<String, String> secrets = new HashMap<>();
+        for (URL file : configFiles) {
+            read(file, config);
+        }
+        for (URL file : secretFiles) {
+            read(file, secrets);
+        }
+        applyOverrides(config, environment, systemProperties);
+        applyOverrides(secrets, environment, systemProperties);
+        config.putAll(overrides);
+        Map<String, String> system = new HashMap<>();
+        for (String key : systemProperties.stringPropertyNames()) {
+            system.put(key, systemProperties.getProperty(key));
+        }
+        Map<String, String> prefixed = new HashMap<>();
+        environment.forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX)) {
+                prefixed.put(name, value);
+            }
+        });
+        List<String> sources = new ArrayList<>();
+        configFiles.forEach(file -> sources.add(file.toString()));
+        secretFiles.forEach(file -> sources.add(file.toString()));
+        return new ConfigSnapshot(config, secrets, system, prefixed, sources);
+    }
+
+    /**
+     * @return A copy of this snapshot with one config setting replaced
+     */
+    public ConfigSnapshot with(String key, String value) {
+        Map<String, String> changed = new HashMap<>(config);
+        changed.put(key, value);
+        return new ConfigSnapshot(changed, secrets, systemProperties, environment, sources);
+    }
+
+    /**
+     * @return The config setting, or null if it is not defined
+     */
+    public String get(String key) {
+        String value = config.get(key);
+        return value != null || secrets.containsKey(key) ? value : getUndefined(key);
+    }
+
+    /**
+     * @return The config setting, or the default value if it is not defined
+     */
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @return The secret (from local.properties), or null if it is not defined
+     */
+    public String getSecret(String key) {
+        String value = secrets.get(key);
+        return value != null ? value : getUndefined(key);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = ints.get(key);
+        if (value == null) {
+            String raw = get(key);
+            if (raw == null) {
+                return defaultValue;
+            }
+            value = parse(key, raw, "an integer", () -> Integer.parseInt(raw.trim()));
+            ints.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Long value = longs.get(key);
+        if (value == null) {
+            String raw = get(key);
+            if (raw == null) {
+                return defaultValue;
+            }
+            value = parse(key, raw, "an integer", () -> Long.parseLong(raw.trim()));
+            longs.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Double value = doubles.get(key);
+        if (value == null) {
+            String raw = get(key);
+            if (raw == null) {
+                return defaultValue;
+            }
+            value = parse(key, raw, "a number", () -> Double.parseDouble(raw.trim()));
+            doubles.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return true for "true", false for "false" (ignoring case), the default value if the key is not defined
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = booleans.get(key);
+        if (value == null) {
+            String raw = get(key);
+            if (raw == null) {
+                return defaultValue;
+            }
+            value = parse(key, raw, "true or false", () -> {
+                String trimmed = raw.trim();
+                if (!trimmed.equalsIgnoreCase("true") && !trimmed.equalsIgnoreCase("false")) {
+                    throw new IllegalArgumentException(trimmed);
+                }
+                return Boolean.parseBoolean(trimmed);
+            });
+            booleans.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a duration such as "500ms", "30s", "5m", "2h", an ISO-8601 duration ("PT30S"), or a plain number
+     * in the given unit (e.g. authSessionTtlMinutes=30).
+     *
+     * @param key          Setting key
+     * @param plainUnit    Unit of plain numbers
+     * @param defaultValue Value if the key is not defined
+     */
+    public Duration getDuration(String key, ChronoUnit plainUnit, Duration defaultValue) {
+        Duration value = durations.get(key);
+        if (value == null) {
+            String raw = get(key);
+            if (raw == null) {
+                return defaultValue;
+            }
+            value = parse(key, raw, "a duration such as 500ms, 30s, 5m, 2h or PT30S", () -> parseDuration(raw, plainUnit));
+            durations.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return The setting as an absolute URI
+     * @throws IllegalStateException if the key is not defined or is not an absolute URI
+     */
+    public URI getUri(String key) {
+        URI value = uris.get(key);
+        if (value == null) {
+            String raw = get(key);
+            if (raw == null) {
+                throw new IllegalStateException("Missing required configuration property: " + key);
+            }
+            value = parse(key, raw, "an absolute URL", () -> {
+                URI uri = new URI(raw.trim());
+                if (!uri.isAbsolute()) {
+                    throw new IllegalArgumentException(raw);
+                }
+                return uri;
+            });
+            uris.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return The files this snapshot was read from
+     */
+    public List<String> getSources() {
+        return sources;
+    }
+
+    private static void read(URL file, Map<String, String> target) {
+        Properties properties = new Properties();
+        try (InputStream in = file.openStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read configuration file " + file, e);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            target.put(key, properties.getProperty(key));
+        }
+    }
+
+    /**
+     * Looks up a key that no file defines: system property > environment variable.
+     */
+    private String getUndefined(String key) {
+        String value = systemProperties.get(key);
+        return value != null ? value : environment.get(environmentNames.computeIfAbsent(key, ConfigSnapshot::toEnvironmentName));
+    }
+
+    private static void applyOverrides(Map<String, String> values, Map<String, String> environment,
+                                       Properties systemProperties) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String key = entry.getKey();
+            String fromEnvironment = environment.get(toEnvironmentName(key));
+            if (fromEnvironment != null) {
+                entry.setValue(fromEnvironment);
+            }
+            String fromSystem = systemProperties.getProperty(key);
+            if (fromSystem != null) {
+                entry.setValue(fromSystem);
+            }
+        }
+    }
+
+    /**
+     * @return Environment variable that overrides the key, e.g. CONFIG_BUDGET_MODE for budget.mode
+     */
+    public static String toEnvironmentName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    private static Duration parseDuration(String raw, ChronoUnit plainUnit) {
+        String value = raw.trim().toLowerCase(Locale.ROOT);
+        if (value.startsWith("p")) {
+            return Duration.parse(value.toUpperCase(Locale.ROOT));
+        }
+        int unitStart = 0;
+        while (unitStart < value.length() && Character.isDigit(value.charAt(unitStart))) {
+            unitStart++;
+        }
+        long amount = Long.parseLong(value.substring(0, unitStart));
+        switch (value.substring(unitStart).trim()) {
+            case "":
+                return Duration.of(amount, plainUnit);
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            default:
+                throw new IllegalArgumentException(raw);
+        }
+    }
+
+    private static <T> T parse(String key, String raw, String expected, Parser<T> parser) {
+        try {
+            return parser.parse();
+        } catch (Exception e) {
+            throw new IllegalStateException("Configuration property " + key + "='" + raw + "' is not " + expected, e);
+        }
+    }
+
+    private interface Parser<T> {
+        T parse() throws Exception;
+    }
+}
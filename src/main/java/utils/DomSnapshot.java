@@ -0,0 +1,284 @@
+package utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.parser.Parser;
+import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * DomSnapshot is an in-JVM copy of the page (or of one subtree) taken with a single script call.
+ *
+ * The script clones the DOM, marks every element with its computed visibility and copies the current
+ * values of form fields, then returns the serialized HTML, which is parsed with jsoup. The computed flag of
+ * an element is final, since CSS visibility is inherited but can be overridden by a descendant; only opacity,
+ * which is not reflected in the computed style of descendants, is checked on the ancestors. Any number of
+ * checks (presence, visibility, text, counts, attributes) can then run against the snapshot without
+ * further WebDriver commands. The snapshot does not change when the page does; take a new one after
+ * interacting with the page.
+ *
+ * Drivers that cannot run scripts fall back to {@code getPageSource()}; visibility is then derived
+ * from {@code hidden} attributes and inline {@code display}/{@code visibility} styles of the element
+ * and its ancestors.
+ */
+public class DomSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(DomSnapshot.class);
+
+    private static final String VISIBLE_ATTRIBUTE = "data-snapshot-visible";
+    private static final String TRANSPARENT_ATTRIBUTE = "data-snapshot-transparent";
+
+    private static final String SNAPSHOT_SCRIPT =
+            "var using = arguments[0], selector = arguments[1];"
+            + "var root = document.documentElement;"
+            + "if (using === 'xpath') {"
+            + "  root = document.evaluate(selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "} else if (using) {"
+            + "  root = document.querySelector(selector);"
+            + "}"
+            + "if (!root) { return null; }"
+            + "function visible(el) {"
+            + "  var style = window.getComputedStyle(el);"
+            + "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse') { return false; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  return rect.width > 0 && rect.height > 0;"
+            + "}"
+            + "function transparent(el) { return parseFloat(window.getComputedStyle(el).opacity) === 0; }"
+            // Ancestors outside of the snapshot are only checked for the root
+            + "var hiddenAbove = false;"
+            + "for (var above = root.parentElement; above; above = above.parentElement) {"
+            + "  hiddenAbove = hiddenAbove || transparent(above);"
+            + "}"
+            + "var clone = root.cloneNode(true);"
+            + "var originals = [root].concat(Array.prototype.slice.call(root.querySelectorAll('*')));"
+            + "var copies = [clone].concat(Array.prototype.slice.call(clone.querySelectorAll('*')));"
+            + "for (var i = 0; i < originals.length; i++) {"
+            + "  copies[i].setAttribute('" + VISIBLE_ATTRIBUTE + "', visible(originals[i]) ? 'true' : 'false');"
+            + "  if (transparent(originals[i]) || (i === 0 && hiddenAbove)) {"
+            + "    copies[i].setAttribute('" + TRANSPARENT_ATTRIBUTE + "', 'true');"
+            + "  }"
+            + "  var tag = originals[i].tagName;"
+            + "  if (tag === 'INPUT' || tag === 'TEXTAREA' || tag === 'SELECT') {"
+            + "    copies[i].setAttribute('value', originals[i].value);"
+            + "  }"
+            + "}"
+            + "return {title: document.title, tag: root.tagName.toLowerCase(), html: clone.outerHTML};";
+
+    // Parent elements that table parts and other context-sensitive roots have to be parsed in
+    private static final Map<String, String> FRAGMENT_CONTEXTS = Map.of(
+            "tr", "tbody", "td", "tr", "th", "tr", "tbody", "table", "thead", "table", "tfoot", "table",
+            "caption", "table", "colgroup", "table", "col", "colgroup", "option", "select");
+
+    private final String title;
+    private final Element root;
+    // true if the visibility flags were computed by the browser rather than derived from the page source
+    private final boolean computedVisibility;
+
+    private DomSnapshot(String title, Element root, boolean computedVisibility) {
+        this.title = title;
+        this.root = root;
+        this.computedVisibility = computedVisibility;
+    }
+
+    /**
+     * Takes a snapshot of the whole page.
+     *
+     * @param driver WebDriver of the page
+     * @return Snapshot of the document
+     */
+    public static DomSnapshot capture(WebDriver driver) {
+        return capture(driver, null);
+    }
+
+    /**
+     * Takes a snapshot of the subtree under the first element matching the locator, e.g. a navbar.
+     *
+     * @param driver      WebDriver of the page
+     * @param rootLocator Locator of the subtree root, or null for the whole page
+     * @return Snapshot of the subtree
+     * @throws NoSuchElementException if the root element is not on the page
+     */
+    @SuppressWarnings("unchecked")
+    public static DomSnapshot capture(WebDriver driver, By rootLocator) {
+        long start = System.nanoTime();
+        boolean scriptable = driver instanceof JavascriptExecutor
+                && (rootLocator == null || Locators.getStrategy(rootLocator) != null);
+        if (scriptable) {
+            try {
+                Object result = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT,
+                        rootLocator == null ? "" : Locators.getStrategy(rootLocator),
+                        rootLocator == null ? "" : Locators.getSelector(rootLocator));
+                if (result == null) {
+                    throw new NoSuchElementException("Snapshot root not found: " + rootLocator);
+                }
+                Map<String, Object> values = (Map<String, Object>) result;
+                String html = (String) values.get("html");
+                Element root = rootLocator == null
+                        ? Jsoup.parse(html)
+                        : parseSubtree(html, (String) values.get("tag"));
+                DomSnapshot snapshot = new DomSnapshot((String) values.get("title"), root, true);
+                logger.debug("DOM snapshot of {} taken in {} ms ({} elements)", rootLocator == null ? "page" : rootLocator,
+                        (System.nanoTime() - start) / 1_000_000, root.getAllElements().size());
+                return snapshot;
+            } catch (UnsupportedCommandException e) {
+                logger.debug("Scripts are not supported, taking the snapshot from the page source");
+            }
+        }
+        return fromPageSource(driver, rootLocator);
+    }
+
+    /**
+     * @return Title of the page the snapshot was taken from
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return true if at least one element matches the locator
+     */
+    public boolean isPresent(By locator) {
+        return !select(locator).isEmpty();
+    }
+
+    /**
+     * @return true if the first element matching the locator is visible
+     */
+    public boolean isDisplayed(By locator) {
+        Element element = select(locator).first();
+        return element != null && isVisible(element);
+    }
+
+    /**
+     * @return Number of elements matching the locator
+     */
+    public int count(By locator) {
+        return select(locator).size();
+    }
+
+    /**
+     * @return Number of visible elements matching the locator
+     */
+    public int countDisplayed(By locator) {
+        return (int) select(locator).stream().filter(this::isVisible).count();
+    }
+
+    /**
+     * Returns the visible text of the first element matching the locator, like {@code WebElement.getText()}.
+     *
+     * @return Visible text, empty if the element is hidden, or null if no element matches
+     */
+    public String getText(By locator) {
+        Element element = select(locator).first();
+        return element == null ? null : visibleText(element);
+    }
+
+    /**
+     * @return Visible texts of all elements matching the locator
+     */
+    public List<String> getTexts(By locator) {
+        return select(locator).stream().map(this::visibleText).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns an attribute of the first element matching the locator. For form fields, "value"
+     * is the current value at the time of the snapshot.
+     *
+     * @return Attribute value, or null if no element matches or the attribute is not set
+     */
+    public String getAttribute(By locator, String name) {
+        Element element = select(locator).first();
+        return element == null || !element.hasAttr(name) ? null : element.attr(name);
+    }
+
+    private Elements select(By locator) {
+        return Locators.select(root, locator);
+    }
+
+    /**
+     * With browser-computed flags, an element is visible if it is marked visible and neither it nor an ancestor
+     * is fully transparent. With flags from the page source, all of its ancestors within the snapshot
+     * have to be marked visible as well.
+     */
+    private boolean isVisible(Element element) {
+        if (computedVisibility && "false".equals(element.attr(VISIBLE_ATTRIBUTE))) {
+            return false;
+        }
+        for (Element current = element; current != null; current = current.parent()) {
+            if (current.hasAttr(TRANSPARENT_ATTRIBUTE)
+                    || (!computedVisibility && "false".equals(current.attr(VISIBLE_ATTRIBUTE)))) {
+                return false;
+            }
+            if (current == root) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the text of the visible elements in the subtree. A hidden element can contain visible ones
+     * (visibility: visible inside visibility: hidden), so text is filtered per element rather than per subtree.
+     */
+    private String visibleText(Element element) {
+        if (!isVisible(element)) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        NodeTraversor.traverse((node, depth) -> {
+            if (node instanceof TextNode && isVisible((Element) node.parent())) {
+                text.append(((TextNode) node).getWholeText());
+            } else if (node instanceof Element && (((Element) node).isBlock() || "br".equals(((Element) node).normalName()))) {
+                text.append(' ');
+            }
+        }, element);
+        return text.toString().replace('\u00a0', ' ').replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Parses the HTML of a subtree root. Table parts (e.g. tr, td) are dropped by the HTML parser outside
+     * of a table, so they are parsed in the context of their usual parent element.
+     */
+    private static Element parseSubtree(String html, String tagName) {
+        Element context = new Element(FRAGMENT_CONTEXTS.getOrDefault(tagName, "body"));
+        for (Node node : Parser.parseFragment(html, context, "")) {
+            if (node instanceof Element) {
+                return (Element) node;
+            }
+        }
+        throw new IllegalStateException("Snapshot of a <" + tagName + "> element could not be parsed");
+    }
+
+    /**
+     * Builds a snapshot from the page source, marking elements hidden by attributes or inline styles.
+     */
+    private static DomSnapshot fromPageSource(WebDriver driver, By rootLocator) {
+        Document document = Jsoup.parse(driver.getPageSource());
+        for (Element element : document.getAllElements()) {
+            String style = element.attr("style").replace(" ", "").toLowerCase();
+            boolean hidden = element.hasAttr("hidden") || style.contains("display:none") || style.contains("visibility:hidden");
+            element.attr(VISIBLE_ATTRIBUTE, hidden ? "false" : "true");
+        }
+        Element root = document;
+        if (rootLocator != null) {
+            root = Locators.select(document, rootLocator).first();
+            if (root == null) {
+                throw new NoSuchElementException("Snapshot root not found: " + rootLocator);
+            }
+        }
+        return new DomSnapshot(document.title(), root, false);
+    }
+}
@@ -0,0 +1,237 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DriverBinaryResolver resolves the driver binary (chromedriver, geckodriver, msedgedriver)
+ * once per JVM and browser, instead of running WebDriverManager for every test class and thread.
+ *
+ * Resolved binaries are recorded in an on-disk index ({@code drivers.properties} in the cache directory),
+ * keyed by browser and driver version, e.g. {@code chrome.latest=/path/to/chromedriver}.
+ * Later runs reuse the recorded binary without any network access, which makes the suite work on
+ * offline agents after the first resolution. The index can be pre-seeded by copying it to the agent
+ * or by calling {@link #seed(String, String, Path)}.
+ *
+ * Settings (system property > config.properties > default):
+ * - driverCache.dir: cache directory (default ~/.cache/selenium-training/drivers)
+ * - driverCache.latestTtlHours: how long a "latest" entry is trusted before re-resolving online (default 24)
+ * - driverVersion.&lt;browser&gt;: pins the driver version for a browser (default "latest")
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+
+    private static final String INDEX_FILE = "drivers.properties";
+    private static final String LATEST = "latest";
+
+    // Binaries resolved in this JVM, keyed by "<browser>.<version>"
+    private static final Map<String, Path> resolved = new ConcurrentHashMap<>();
+
+    // Setup time statistics reported at the end of the suite
+    private static final AtomicLong requestCount = new AtomicLong();
+    private static final AtomicLong totalNanos = new AtomicLong();
+    // Measured resolutions, split by where the binary came from
+    private static final AtomicLong indexedCount = new AtomicLong();
+    private static final AtomicLong indexedNanos = new AtomicLong();
+    private static final AtomicLong downloadedCount = new AtomicLong();
+    private static final AtomicLong downloadedNanos = new AtomicLong();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Makes the driver binary for the given browser available to Selenium by setting the
+     * corresponding {@code webdriver.*.driver} system property. Only the first call per JVM
+     * does any work; later calls return the already resolved path.
+     *
+     * @param browser Browser name ("chrome", "firefox" or "edge")
+     * @return Path of the driver binary
+     */
+    public static Path resolve(String browser) {
+        long start = System.nanoTime();
+        String name = browser.toLowerCase(Locale.ROOT);
+        String version = ConfigReader.snapshot().get("driverVersion." + name, LATEST);
+        Path binary = resolved.computeIfAbsent(name + "." + version, key -> resolveOnce(name, version, key));
+        System.setProperty(getDriverProperty(name), binary.toString());
+
+        long elapsed = System.nanoTime() - start;
+        requestCount.incrementAndGet();
+        totalNanos.addAndGet(elapsed);
+        logger.debug("Driver binary for '{}' available in {} ms: {}", name, elapsed / 1_000_000, binary);
+        return binary;
+    }
+
+    /**
+     * Records a driver binary in the on-disk index, e.g. to prepare an offline agent.
+     *
+     * @param browser Browser name ("chrome", "firefox" or "edge")
+     * @param version Driver version the binary belongs to, or "latest"
+     * @param binary  Path of an existing driver binary
+     */
+    public static void seed(String browser, String version, Path binary) {
+        if (!Files.isRegularFile(binary)) {
+            throw new IllegalArgumentException("Driver binary does not exist: " + binary);
+        }
+        storeEntry(browser.toLowerCase(Locale.ROOT) + "." + version, binary.toAbsolutePath(), false);
+    }
+
+    /**
+     * Logs the time spent making driver binaries available during this run, with the resolutions
+     * served from the on-disk index and those downloaded via WebDriverManager measured separately.
+     * The remaining requests were answered from memory.
+     */
+    public static void logSummary() {
+        long requests = requestCount.get();
+        if (requests == 0) {
+            return;
+        }
+        logger.info("Driver setup: {} request(s) took {} ms in total; {} resolved via WebDriverManager in {} ms, "
+                        + "{} from the on-disk index in {} ms, {} from memory",
+                requests, totalNanos.get() / 1_000_000, downloadedCount.get(), downloadedNanos.get() / 1_000_000,
+                indexedCount.get(), indexedNanos.get() / 1_000_000,
+                requests - downloadedCount.get() - indexedCount.get());
+    }
+
+    /**
+     * Resolves a binary from the on-disk index, falling back to WebDriverManager when the entry is missing,
+     * the binary was deleted, or a "latest" entry is older than the configured TTL.
+     */
+    private static Path resolveOnce(String browser, String version, String key) {
+        long start = System.nanoTime();
+        Properties index = loadIndex();
+        Path indexed = getEntry(index, key);
+        boolean fresh = indexed != null && (!LATEST.equals(version) || !isExpired(index, key));
+        if (fresh) {
+            logger.info("Using cached driver binary for '{}' ({}): {}", browser, version, indexed);
+            indexedCount.incrementAndGet();
+            indexedNanos.addAndGet(System.nanoTime() - start);
+            return indexed;
+        }
+
+        try {
+            WebDriverManager manager = WebDriverManager.getInstance(browser)
+                    .cachePath(getCacheDir().resolve("wdm").toString());
+            if (!LATEST.equals(version)) {
+                manager.driverVersion(version);
+            }
+            manager.setup();
+            Path binary = Paths.get(manager.getDownloadedDriverPath()).toAbsolutePath();
+            logger.info("Resolved driver binary for '{}' ({}) via WebDriverManager: {} (driver version {})",
+                    browser, version, binary, manager.getDownloadedDriverVersion());
+            storeEntry(key, binary, true);
+            downloadedCount.incrementAndGet();
+            downloadedNanos.addAndGet(System.nanoTime() - start);
+            return binary;
+        } catch (RuntimeException e) {
+            if (indexed != null) {
+                // Offline: an expired "latest" binary is better than no binary at all
+                logger.warn("Could not refresh driver binary for '{}' ({}), using cached {}: {}",
+                        browser, version, indexed, e.getMessage());
+                indexedCount.incrementAndGet();
+                indexedNanos.addAndGet(System.nanoTime() - start);
+                return indexed;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the indexed binary for the key, or null if it is not indexed or no longer exists on disk.
+     */
+    private static Path getEntry(Properties index, String key) {
+        String value = index.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+        Path binary = Paths.get(value);
+        return Files.isRegularFile(binary) ? binary : null;
+    }
+
+    /**
+     * Adds or replaces an index entry; entries resolved online record when they were resolved
+     * so that "latest" can expire. The index is written to a temporary file and moved into place,
+     * so parallel JVMs never read a half-written file.
+     */
+    private static synchronized void storeEntry(String key, Path binary, boolean expiring) {
+        Properties index = loadIndex();
+        index.setProperty(key, binary.toString());
+        if (expiring) {
+            index.setProperty(key + ".resolvedAt", String.valueOf(System.currentTimeMillis()));
+        } else {
+            index.remove(key + ".resolvedAt");
+        }
+        Path indexFile = getCacheDir().resolve(INDEX_FILE);
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path temp = Files.createTempFile(indexFile.getParent(), INDEX_FILE, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                index.store(out, "Resolved WebDriver binaries: <browser>.<version>=<path>");
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to update driver binary index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    private static Properties loadIndex() {
+        Properties index = new Properties();
+        Path indexFile = getCacheDir().resolve(INDEX_FILE);
+        if (Files.isRegularFile(indexFile)) {
+            try (InputStream in = Files.newInputStream(indexFile)) {
+                index.load(in);
+            } catch (IOException e) {
+                logger.warn("Failed to read driver binary index {}: {}", indexFile, e.getMessage());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * A "latest" entry expires after the TTL; seeded entries without a timestamp never expire.
+     */
+    private static boolean isExpired(Properties index, String key) {
+        String resolvedAt = index.getProperty(key + ".resolvedAt");
+        if (resolvedAt == null) {
+            return false;
+        }
+        Duration ttl = ConfigReader.snapshot().getDuration("driverCache.latestTtlHours", ChronoUnit.HOURS, Duration.ofHours(24));
+        return System.currentTimeMillis() - Long.parseLong(resolvedAt) > ttl.toMillis();
+    }
+
+    private static Path getCacheDir() {
+        String defaultDir = Paths.get(System.getProperty("user.home"), ".cache", "selenium-training", "drivers").toString();
+        return Paths.get(ConfigReader.snapshot().get("driverCache.dir", defaultDir));
+    }
+
+    /**
+     * Returns the system property Selenium reads the driver location from.
+     */
+    private static String getDriverProperty(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("No driver binary is managed for browser: " + browser);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+
+/**
+ * DriverFactory is the extension point for launching browser sessions.
+ *
+ * Each implementation handles one browser and applies the options of a {@link DriverProfile}.
+ * The built-in factories cover Chrome, Firefox, Edge and Safari. Additional factories can be
+ * registered through {@code META-INF/services/utils.DriverFactory} and take precedence over
+ * the built-in ones for the same browser name.
+ */
+public interface DriverFactory {
+
+    /**
+     * @return Lower-case browser name handled by this factory (e.g. "chrome").
+     */
+    String getBrowserName();
+
+    /**
+     * Launches a new browser session configured for the given profile.
+     *
+     * @param profile Capability profile to apply
+     * @return A new WebDriver instance
+     */
+    WebDriver createDriver(DriverProfile profile);
+
+    /**
+     * Finds the factory for the given browser name.
+     *
+     * @param browser Browser name (e.g. "chrome", "firefox")
+     * @return Factory that launches the requested browser
+     * @throws IllegalArgumentException if no factory supports the browser
+     */
+    static DriverFactory forBrowser(String browser) {
+        String name = browser.toLowerCase(Locale.ROOT);
+        for (DriverFactory factory : ServiceLoader.load(DriverFactory.class)) {
+            if (factory.getBrowserName().equals(name)) {
+                return factory;
+            }
+        }
+        List<DriverFactory> builtIn = List.of(
+                new ChromeDriverFactory(), new FirefoxDriverFactory(), new EdgeDriverFactory(), new SafariDriverFactory());
+        for (DriverFactory factory : builtIn) {
+            if (factory.getBrowserName().equals(name)) {
+                return factory;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported browser: " + browser);
+    }
+
+    /**
+     * Resolves the profile to use with priority: system property > testng.xml parameter >
+     * config.properties > "full-fidelity".
+     *
+     * @param profileFromXML Optional value of the {@code driverProfile} testng.xml parameter
+     * @return Resolved profile
+     */
+    static DriverProfile resolveProfile(String profileFromXML) {
+        String fallback = profileFromXML != null
+                ? profileFromXML
+                : ConfigReader.getConfigProperty("driverProfile", DriverProfile.FULL_FIDELITY.getProfileName());
+        return DriverProfile.fromName(System.getProperty("driverProfile", fallback));
+    }
+}
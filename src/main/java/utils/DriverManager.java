@@ -2,22 +2,41 @@ package utils;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
+
 import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * DriverManager is a utility class that manages WebDriver and WebDriverWait instances
  * using ThreadLocal to ensure thread safety for parallel test execution.
  * Each thread will get its own copy of WebDriver and WebDriverWait,
  * avoiding conflicts in a multithreaded (parallel) environment.
+ *
+ * Drivers can either be set directly or leased from a per-browser {@link DriverPool},
+ * which keeps browser sessions warm between test classes and quits them at suite end.
+ * Leases pass through the {@link ConcurrencyGovernor}, which holds them back while the host is saturated.
  */
 public class DriverManager {
-
     // ThreadLocal to store WebDriver instance per thread
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
     // ThreadLocal to store WebDriverWait instance per thread
     private static final ThreadLocal<WebDriverWait> wait = new ThreadLocal<>();
 
+    // ThreadLocal to store the wait timeout of the current thread (used by event-driven waits)
+    private static final ThreadLocal<Duration> waitTimeout = new ThreadLocal<>();
+
+    // ThreadLocal to store the pool the current driver was leased from (null if set directly)
+    private static final ThreadLocal<DriverPool> leasedFrom = new ThreadLocal<>();
+
+    // One pool per browser and driver profile ("chrome/fast-headless"), shared by all threads
+    private static final Map<String, DriverPool> pools = new ConcurrentHashMap<>();
+
     /**
      * Retrieves the WebDriver instance for the current thread.
      *
@@ -36,6 +55,16 @@ public class DriverManager {
         return wait.get();
     }
 
+    /**
+     * Retrieves the wait timeout configured for the current thread.
+     *
+     * @return Wait timeout, or the MEDIUM timeout if no driver was set for the thread
+     */
+    public static Duration getWaitTimeout() {
+        Duration timeout = waitTimeout.get();
+        return timeout != null ? timeout : Duration.ofSeconds(Timeouts.MEDIUM.getSeconds());
+    }
+
     /**
      * Sets the WebDriver and initializes WebDriverWait for the current thread.
      *
@@ -45,6 +74,7 @@ public class DriverManager {
     public static void setDriver(WebDriver webDriver, Timeouts timeout) {
         driver.set(webDriver);
         wait.set(new WebDriverWait(webDriver, Duration.ofSeconds(timeout.getSeconds())));
+        waitTimeout.set(Duration.ofSeconds(timeout.getSeconds()));
     }
 
     /**
@@ -56,6 +86,122 @@ public class DriverManager {
             driver.get().quit();   // Safely close browser and end session
             driver.remove();       // Remove WebDriver reference from current thread
             wait.remove();         // Remove WebDriverWait reference from current thread
+            waitTimeout.remove();  // Remove wait timeout from current thread
+        }
+    }
+
+    /**
+     * Leases a warm WebDriver from the pool of the given browser and profile and sets it for the current thread.
+     * The pool is created on first use with the size, reuse limit and lease timeout from configuration
+     * ({@code driverPool.size}, {@code driverPool.maxReuse}, {@code driverPool.leaseTimeoutSeconds}),
+     * which can be overridden by system properties of the same name.
+     *
+     * @param browser Browser name the pool is keyed by
+     * @param profile Capability profile the pool is keyed by, together with the browser
+     * @param factory Supplier that launches a new browser session when the pool needs one
+     * @param timeout Enum value from Timeouts class that defines wait duration
+     * @return The leased WebDriver instance
+     */
+    public static WebDriver leaseDriver(String browser, DriverProfile profile, Supplier<WebDriver> factory, Timeouts timeout) {
+        DriverPool pool = getPool(browser, profile, factory);
+        // Holds the lease back while the host is saturated (concurrency.mode=adaptive)
+        ConcurrencyGovernor.awaitCapacity(browser);
+        WebDriver webDriver;
+        try {
+            webDriver = pool.lease();
+        } catch (RuntimeException e) {
+            ConcurrencyGovernor.leaseEnded();
+            throw e;
+        }
+        setDriver(webDriver, timeout);
+        leasedFrom.set(pool);
+        return webDriver;
+    }
+
+    /**
+     * Releases the driver of the current thread. A pooled driver is reset and returned to its pool,
+     * while a driver that was set directly is quit.
+     * Should be called in @AfterClass or @AfterMethod depending on test scope.
+     */
+    public static void releaseDriver() {
+        DriverPool pool = leasedFrom.get();
+        if (pool == null) {
+            quitDriver();
+            return;
+        }
+        WebDriver webDriver = driver.get();
+        driver.remove();
+        wait.remove();
+        waitTimeout.remove();
+        leasedFrom.remove();
+        try {
+            if (webDriver != null) {
+                pool.release(webDriver);
+            }
+        } finally {
+            // A failed reset must not leak the lease, or adaptive throttling waits for it forever
+            ConcurrencyGovernor.leaseEnded();
+        }
+    }
+
+    /**
+     * Returns the pool for the given browser and profile, creating it on first use. Sessions of different
+     * profiles (e.g. headless and visible) are never handed out for each other.
+     * Drivers launched by the pool are instrumented with {@link CommandMetrics} when it is enabled.
+     *
+     * @param browser Browser name the pool is keyed by
+     * @param profile Capability profile the pool is keyed by
+     * @param factory Supplier that launches a new browser session when the pool needs one
+     * @return Pool shared by all threads for this browser and profile
+     */
+    public static DriverPool getPool(String browser, DriverProfile profile, Supplier<WebDriver> factory) {
+        Supplier<WebDriver> launcher = CommandMetrics.isEnabled()
+                ? () -> CommandMetrics.instrument(factory.get())
+                : factory;
+        String key = browser + "/" + profile.getProfileName();
+        return pools.computeIfAbsent(key, name -> new DriverPool(name, launcher,
+                ConfigReader.snapshot().getInt("driverPool.size", 2),
+                ConfigReader.snapshot().getInt("driverPool.maxReuse", 20),
+                ConfigReader.snapshot().getDuration("driverPool.leaseTimeoutSeconds", ChronoUnit.SECONDS, Duration.ofSeconds(120))));
+    }
+
+    /**
+     * Starts launching browser sessions for the given browser in the background, so that the first
+     * tests find warm sessions in the pool. The number of sessions comes from {@code driverPool.prewarm}
+     * (system property > config.properties, default 0 = disabled) and is capped by the pool size.
+     *
+     * @param browser Browser name the pool is keyed by
+     * @param profile Capability profile the pool is keyed by
+     * @param factory Supplier that launches a new browser session
+     * @return One future per session being launched; callers are not required to wait for them
+     */
+    public static List<CompletableFuture<WebDriver>> prewarm(String browser, DriverProfile profile, Supplier<WebDriver> factory) {
+        int count = ConfigReader.snapshot().getInt("driverPool.prewarm", 0);
+        if (count <= 0) {
+            return List.of();
+        }
+        return getPool(browser, profile, factory).prewarm(count);
+    }
+
+    /**
+     * @return Number of browser sessions currently open in all pools, idle or leased
+     */
+    public static int getLiveSessionCount() {
+        int count = 0;
+        for (DriverPool pool : pools.values()) {
+            count += pool.getIdleCount() + pool.getLeasedCount();
+        }
+        return count;
+    }
+
+    /**
+     * Quits all pooled sessions and logs the statistics of every pool.
+     * Should be called once in @AfterSuite.
+     */
+    public static void shutdownPools() {
+        for (DriverPool pool : pools.values()) {
+            pool.shutdown();
         }
+        pools.clear();
     }
 }
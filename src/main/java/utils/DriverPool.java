@@ -0,0 +1,533 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * DriverPool keeps a bounded set of warm WebDriver sessions for a single browser type.
+ *
+ * Instead of launching and quitting a browser for every test class, a session is leased
+ * to a thread, reset when it is released (cookies, storage, extra windows) and handed
+ * to the next caller. A session is quit only when the pool is shut down at the end of
+ * the suite or after it has been leased {@code maxReuse} times.
+ *
+ * Sessions can also be provisioned ahead of demand on a background executor
+ * ({@link #prewarm(int)}), so browsers boot in parallel while TestNG is still discovering tests.
+ * Once pre-warming was requested, retired sessions are replaced in the background as well.
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private final String browser;
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int maxReuse;
+    private final Duration leaseTimeout;
+
+    // Permits bound the number of sessions leased at the same time
+    private final Semaphore permits;
+
+    // Warm sessions waiting for the next lease
+    private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+
+    // Sessions currently leased, keyed by the identity of the driver handed out to the caller
+    // (decorated drivers are proxies, so equals/hashCode cannot be relied on)
+    private final Map<WebDriver, PooledDriver> leased = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    // Sessions that exist or are being launched (leased + idle + provisioning), never above maxSize:
+    // every increment goes through reserveSlot()
+    private final AtomicInteger live = new AtomicInteger();
+
+    // Sessions being launched on the background executor
+    private final AtomicInteger provisioning = new AtomicInteger();
+
+    // Background executor launching browsers ahead of demand, created on first pre-warm
+    private volatile ExecutorService provisioner;
+    private volatile boolean refillEnabled;
+    private volatile boolean closed;
+
+    // Statistics used to tune the pool size against the TestNG thread-count
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong reusedCount = new AtomicLong();
+    private final AtomicLong retiredCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalLaunchNanos = new AtomicLong();
+    private final AtomicLong maxLaunchNanos = new AtomicLong();
+    private final AtomicLong prewarmedCount = new AtomicLong();
+    private final long createdAtNanos = System.nanoTime();
+    private final AtomicLong timeToFirstDriverNanos = new AtomicLong(-1);
+
+    /**
+     * Creates a pool for the given browser.
+     *
+     * @param browser      Browser name, used for logging only.
+     * @param factory      Supplier that launches a new browser session.
+     * @param maxSize      Maximum number of sessions leased at the same time.
+     * @param maxReuse     Number of leases after which a session is quit and replaced.
+     * @param leaseTimeout Maximum time a caller waits for a free session.
+     */
+    public DriverPool(String browser, Supplier<WebDriver> factory, int maxSize, int maxReuse, Duration leaseTimeout) {
+        if (maxSize < 1 || maxReuse < 1) {
+            throw new IllegalArgumentException("Pool size and reuse count must be positive");
+        }
+        this.browser = browser;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxReuse = maxReuse;
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(maxSize, true);
+        logger.info("Created driver pool for '{}': size={}, maxReuse={}, leaseTimeout={}s",
+                browser, maxSize, maxReuse, leaseTimeout.toSeconds());
+    }
+
+    /**
+     * Leases a session from the pool, reusing a warm one when available.
+     * Blocks until a session becomes free or the lease timeout expires.
+     *
+     * @return WebDriver leased to the calling thread
+     * @throws IllegalStateException if no session became available in time
+     */
+    public WebDriver lease() {
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out after " + leaseTimeout.toSeconds()
+                        + "s waiting for a '" + browser + "' driver from the pool");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a '" + browser + "' driver", e);
+        }
+        recordWait(System.nanoTime() - waitStart);
+
+        PooledDriver pooled;
+        try {
+            pooled = takeWarm(waitStart);
+            boolean launched = false;
+            while (pooled == null) {
+                // Sessions launched in the background hold a slot too, so a slot is reserved rather than assumed
+                if (reserveSlot()) {
+                    try {
+                        pooled = launch();
+                    } catch (RuntimeException e) {
+                        live.decrementAndGet();
+                        throw e;
+                    }
+                    launched = true;
+                } else {
+                    // Every slot is taken, so at least one session is idle or still being launched for this permit
+                    pooled = awaitIdle(waitStart);
+                }
+            }
+            if (launched) {
+                logger.info("Launched new '{}' session for the pool", browser);
+            } else if (pooled.leases == 0) {
+                logger.debug("Leasing pre-warmed '{}' session", browser);
+            } else {
+                reusedCount.incrementAndGet();
+                logger.debug("Reusing warm '{}' session (lease #{})", browser, pooled.leases + 1);
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        pooled.leases++;
+        leaseCount.incrementAndGet();
+        leased.put(pooled.driver, pooled);
+        if (timeToFirstDriverNanos.compareAndSet(-1, System.nanoTime() - createdAtNanos)) {
+            logger.info("Time to first '{}' driver: {} ms", browser, getTimeToFirstDriverMillis());
+        }
+        refill();
+        return pooled.driver;
+    }
+
+    /**
+     * Starts launching up to {@code count} sessions in parallel on a background executor.
+     * Returns immediately; the sessions are placed in the pool as soon as they are ready.
+     * After this call, sessions that are retired are replaced in the background as well.
+     *
+     * @param count Number of sessions to launch ahead of demand (capped by the pool size)
+     * @return One future per launch that was started, completed with the ready driver
+     */
+    public List<CompletableFuture<WebDriver>> prewarm(int count) {
+        refillEnabled = true;
+        List<CompletableFuture<WebDriver>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<WebDriver> future = provisionAsync();
+            if (future == null) {
+                break;
+            }
+            futures.add(future);
+        }
+        logger.info("Pre-warming {} '{}' session(s) in the background", futures.size(), browser);
+        return futures;
+    }
+
+    /**
+     * Takes an idle session, waiting for sessions that are still being launched in the background.
+     *
+     * @return Warm session, or null if none is idle and none is being provisioned.
+     */
+    private PooledDriver takeWarm(long waitStart) {
+        PooledDriver pooled = idle.pollFirst();
+        long deadline = waitStart + leaseTimeout.toNanos();
+        try {
+            while (pooled == null && provisioning.get() > 0 && System.nanoTime() < deadline) {
+                pooled = idle.pollFirst(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pre-warmed '" + browser + "' driver", e);
+        }
+        return pooled;
+    }
+
+    /**
+     * Waits for a session to become idle while every slot of the pool is taken.
+     *
+     * @return Idle session
+     * @throws IllegalStateException if none became idle before the lease timeout
+     */
+    private PooledDriver awaitIdle(long waitStart) {
+        long deadline = waitStart + leaseTimeout.toNanos();
+        try {
+            PooledDriver pooled = idle.pollFirst(100, TimeUnit.MILLISECONDS);
+            if (pooled == null && System.nanoTime() >= deadline) {
+                throw new IllegalStateException("Timed out after " + leaseTimeout.toSeconds()
+                        + "s waiting for a '" + browser + "' driver being launched in the background");
+            }
+            return pooled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pre-warmed '" + browser + "' driver", e);
+        }
+    }
+
+    /**
+     * Launches a session on the background executor if the pool has room for one more.
+     *
+     * @return Future completed with the launched driver, or null if the pool is full or closed.
+     */
+    private CompletableFuture<WebDriver> provisionAsync() {
+        if (closed) {
+            return null;
+        }
+        // Counted before the slot is reserved, so a lease never sees a reserved slot without a launch to wait for
+        provisioning.incrementAndGet();
+        if (!reserveSlot()) {
+            provisioning.decrementAndGet();
+            return null;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                PooledDriver pooled = launch();
+                prewarmedCount.incrementAndGet();
+                if (closed) {
+                    quitQuietly(pooled.driver);
+                    live.decrementAndGet();
+                } else {
+                    idle.offerLast(pooled);
+                }
+                return pooled.driver;
+            } catch (RuntimeException e) {
+                live.decrementAndGet();
+                logger.warn("Background launch of '{}' session failed: {}", browser, e.getMessage());
+                throw e;
+            } finally {
+                provisioning.decrementAndGet();
+            }
+        }, getProvisioner());
+    }
+
+    /**
+     * Tops the pool back up to its size in the background once pre-warming has been requested.
+     */
+    private void refill() {
+        if (!refillEnabled) {
+            return;
+        }
+        while (provisionAsync() != null) {
+            logger.debug("Refilling '{}' pool in the background", browser);
+        }
+    }
+
+    /**
+     * Reserves room for one more session, keeping the number of live sessions within maxSize.
+     */
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = live.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!live.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Launches a new browser session and records how long the launch took.
+     */
+    private PooledDriver launch() {
+        long start = System.nanoTime();
+        WebDriver driver = factory.get();
+        long elapsed = System.nanoTime() - start;
+        totalLaunchNanos.addAndGet(elapsed);
+        maxLaunchNanos.accumulateAndGet(elapsed, Math::max);
+        createdCount.incrementAndGet();
+        logger.debug("Provisioned '{}' session in {} ms", browser, elapsed / 1_000_000);
+        return new PooledDriver(driver);
+    }
+
+    private ExecutorService getProvisioner() {
+        if (provisioner == null) {
+            synchronized (this) {
+                if (provisioner == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    provisioner = Executors.newFixedThreadPool(maxSize, runnable -> {
+                        Thread thread = new Thread(runnable, "driver-provisioner-" + browser + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return provisioner;
+    }
+
+    /**
+     * Returns a leased session to the pool. The session is reset so the next lease starts clean,
+     * or quit if it reached the reuse limit or could not be reset.
+     *
+     * @param driver The driver previously obtained from {@link #lease()}
+     */
+    public void release(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            logger.warn("Attempted to release a driver that was not leased from the '{}' pool", browser);
+            return;
+        }
+        try {
+            if (pooled.leases >= maxReuse) {
+                logger.info("Retiring '{}' session after {} leases", browser, pooled.leases);
+                retire(pooled);
+            } else if (reset(pooled.driver)) {
+                idle.offerFirst(pooled);
+            } else {
+                retire(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+        refill();
+    }
+
+    /**
+     * Quits every idle and leased session and logs the pool statistics.
+     * Should be called once at the end of the suite.
+     */
+    public void shutdown() {
+        closed = true;
+        if (provisioner != null) {
+            provisioner.shutdown();
+            try {
+                // Sessions still booting are quit by their launch task once it sees the pool is closed
+                provisioner.awaitTermination(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<PooledDriver> remaining = new ArrayList<>();
+        idle.drainTo(remaining);
+        synchronized (leased) {
+            remaining.addAll(leased.values());
+            leased.clear();
+        }
+        for (PooledDriver pooled : remaining) {
+            quitQuietly(pooled.driver);
+            live.decrementAndGet();
+        }
+        logger.info("Driver pool for '{}' shut down. {}", browser, describeStats());
+    }
+
+    /**
+     * Clears the state left behind by the previous lease: extra windows, cookies,
+     * local and session storage. The remaining window is navigated to a blank page.
+     *
+     * @return true if the session is clean and can be reused; false otherwise.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            driver.manage().deleteAllCookies();
+            clearWebStorage(driver);
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reset '{}' session, it will be discarded: {}", browser, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clears local and session storage of the currently opened origin.
+     * Storage is not accessible on pages such as about:blank, which is not an error.
+     */
+    private void clearWebStorage(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        } catch (RuntimeException e) {
+            logger.debug("Web storage could not be cleared: {}", e.getMessage());
+        }
+    }
+
+    private void retire(PooledDriver pooled) {
+        retiredCount.incrementAndGet();
+        quitQuietly(pooled.driver);
+        live.decrementAndGet();
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to quit '{}' session: {}", browser, e.getMessage());
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMaxReuse() {
+        return maxReuse;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getLeasedCount() {
+        return leased.size();
+    }
+
+    public long getLeaseCount() {
+        return leaseCount.get();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public long getReusedCount() {
+        return reusedCount.get();
+    }
+
+    public long getRetiredCount() {
+        return retiredCount.get();
+    }
+
+    /**
+     * @return Average time callers waited for a free session, in milliseconds.
+     */
+    public double getAverageLeaseWaitMillis() {
+        long leases = leaseCount.get();
+        return leases == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / leases;
+    }
+
+    /**
+     * @return Longest time a caller waited for a free session, in milliseconds.
+     */
+    public double getMaxLeaseWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    public long getPrewarmedCount() {
+        return prewarmedCount.get();
+    }
+
+    /**
+     * @return Time from pool creation until the first lease completed in milliseconds, or -1 if none yet.
+     */
+    public long getTimeToFirstDriverMillis() {
+        long nanos = timeToFirstDriverNanos.get();
+        return nanos < 0 ? -1 : nanos / 1_000_000;
+    }
+
+    /**
+     * @return Average time it took to launch a browser session, in milliseconds.
+     */
+    public double getAverageProvisioningMillis() {
+        long created = createdCount.get();
+        return created == 0 ? 0 : totalLaunchNanos.get() / 1_000_000.0 / created;
+    }
+
+    /**
+     * @return Longest time it took to launch a browser session, in milliseconds.
+     */
+    public double getMaxProvisioningMillis() {
+        return maxLaunchNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Builds a one-line summary of the pool statistics for logging.
+     */
+    public String describeStats() {
+        return String.format("size=%d, leases=%d, created=%d, prewarmed=%d, reused=%d, retired=%d, "
+                        + "avgWait=%.1fms, maxWait=%.1fms, timeToFirstDriver=%dms, avgProvisioning=%.1fms, maxProvisioning=%.1fms",
+                maxSize, getLeaseCount(), getCreatedCount(), getPrewarmedCount(), getReusedCount(), getRetiredCount(),
+                getAverageLeaseWaitMillis(), getMaxLeaseWaitMillis(), getTimeToFirstDriverMillis(),
+                getAverageProvisioningMillis(), getMaxProvisioningMillis());
+    }
+
+    /**
+     * A pooled session together with the number of times it has been leased.
+     */
+    private static class PooledDriver {
+        private final WebDriver driver;
+        private int leases;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package utils;
+
+import java.util.Locale;
+
+/**
+ * Named capability profiles used by {@link DriverFactory} implementations.
+ * A profile trades rendering fidelity for throughput:
+ * - FAST_HEADLESS: headless, "eager" page-load strategy, no images or extensions, small window.
+ * - FULL_FIDELITY: a regular visible browser with default options.
+ */
+public enum DriverProfile {
+    FAST_HEADLESS("fast-headless", true, "eager", true, true, 1280, 800),
+    FULL_FIDELITY("full-fidelity", false, "normal", false, false, 0, 0);
+
+    private final String profileName;
+    private final boolean headless;
+    private final String pageLoadStrategy;
+    private final boolean imagesDisabled;
+    private final boolean extensionsDisabled;
+    private final int windowWidth;
+    private final int windowHeight;
+
+    DriverProfile(String profileName, boolean headless, String pageLoadStrategy, boolean imagesDisabled,
+                  boolean extensionsDisabled, int windowWidth, int windowHeight) {
+        this.profileName = profileName;
+        this.headless = headless;
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.imagesDisabled = imagesDisabled;
+        this.extensionsDisabled = extensionsDisabled;
+        this.windowWidth = windowWidth;
+        this.windowHeight = windowHeight;
+    }
+
+    /**
+     * Resolves a profile by its name (e.g. "fast-headless"), ignoring case.
+     *
+     * @param name Profile name as used in system properties and testng.xml
+     * @return Matching profile
+     * @throws IllegalArgumentException if no profile has the given name
+     */
+    public static DriverProfile fromName(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        for (DriverProfile profile : values()) {
+            if (profile.profileName.equals(normalized)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported driver profile: " + name);
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * @return W3C page-load strategy name ("normal", "eager" or "none").
+     */
+    public String getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public boolean isImagesDisabled() {
+        return imagesDisabled;
+    }
+
+    public boolean isExtensionsDisabled() {
+        return extensionsDisabled;
+    }
+
+    /**
+     * @return true if the profile defines a fixed window size.
+     */
+    public boolean hasWindowSize() {
+        return windowWidth > 0 && windowHeight > 0;
+    }
+
+    public int getWindowWidth() {
+        return windowWidth;
+    }
+
+    public int getWindowHeight() {
+        return windowHeight;
+    }
+}
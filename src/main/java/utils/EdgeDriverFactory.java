@@ -0,0 +1,56 @@
+package utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Launches Edge sessions configured for a {@link DriverProfile}.
+ * Edge is Chromium-based, so it accepts the same switches and preferences as Chrome.
+ */
+public class EdgeDriverFactory implements DriverFactory {
+
+    @Override
+    public String getBrowserName() {
+        return "edge";
+    }
+
+    @Override
+    public WebDriver createDriver(DriverProfile profile) {
+        DriverBinaryResolver.resolve(getBrowserName());
+        WebDriver driver = new EdgeDriver(createOptions(profile));
+        ResourceInterceptor.attach(driver, profile);
+        return driver;
+    }
+
+    /**
+     * Builds Edge options for the given profile.
+     */
+    private EdgeOptions createOptions(DriverProfile profile) {
+        EdgeOptions options = new EdgeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(profile.getPageLoadStrategy()));
+        if (profile.isHeadless()) {
+            options.addArguments("--headless=new");
+        }
+        if (profile.hasWindowSize()) {
+            options.addArguments("--window-size=" + profile.getWindowWidth() + "," + profile.getWindowHeight());
+        }
+        if (profile.isExtensionsDisabled()) {
+            options.addArguments("--disable-extensions");
+        }
+        if (profile.isImagesDisabled()) {
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        // Keep the browser console log, attached to the report of failed tests
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability("ms:loggingPrefs", logging);
+        return options;
+    }
+}
@@ -0,0 +1,296 @@
+package utils;
+
+import io.qameta.allure.model.Attachment;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FailureArtifacts collects a screenshot, the page source and the browser console log of a failed test
+ * for the Allure report without holding up the test thread.
+ *
+ * {@link #capture(WebDriver)} runs on the test thread and only fetches the raw artifacts from the browser
+ * (the screenshot stays base64 as sent by the driver). {@link #submit(Capture)} names the Allure attachments right away
+ * and hands decoding, compression, content-hash deduplication and writing to a bounded background executor.
+ * When its queue is full, the submitting test thread processes the artifacts itself, which slows down tests
+ * instead of piling up screenshots in memory. {@link #drain()} waits for the executor at suite end and logs
+ * the time spent capturing on test threads next to the time spent processing in the background.
+ *
+ * Identical artifacts (e.g. the same error page in several failed tests) are written once; later copies are
+ * hard links to the first file, or plain copies where the file system has no hard links.
+ *
+ * Settings (system property > config.properties > default):
+ * - artifacts.onFailure: capture artifacts of failed tests (default true)
+ * - artifacts.threads: background threads processing artifacts (default 2)
+ * - artifacts.queueSize: captures waiting for processing before test threads process them themselves (default 8)
+ * - artifacts.compressAboveKb: text artifacts larger than this are stored gzipped (default 64)
+ * - artifacts.drainSeconds: longest wait for pending artifacts at suite end (default 60)
+ */
+public final class FailureArtifacts {
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifacts.class);
+
+    private static final Map<String, Path> writtenByHash = new ConcurrentHashMap<>();
+
+    private static final LongAdder captured = new LongAdder();
+    private static final LongAdder captureNanos = new LongAdder();
+    private static final LongAdder processNanos = new LongAdder();
+    private static final LongAdder written = new LongAdder();
+    private static final LongAdder deduplicated = new LongAdder();
+    private static final LongAdder bytesWritten = new LongAdder();
+    private static final LongAdder callerRuns = new LongAdder();
+
+    private static ThreadPoolExecutor executor;
+
+    private FailureArtifacts() {
+    }
+
+    /**
+     * @return true if artifacts.onFailure is enabled
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.snapshot().getBoolean("artifacts.onFailure", true);
+    }
+
+    /**
+     * Fetches the raw artifacts from the browser. Artifacts the browser cannot provide (e.g. console logs in Firefox,
+     * or anything while an alert is open) are left out.
+     *
+     * @param driver Driver of the failed test
+     * @return Raw artifacts, or null if there is no driver
+     */
+    public static Capture capture(WebDriver driver) {
+        if (driver == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Capture capture = new Capture();
+        try {
+            capture.url = driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            logger.debug("Could not read the URL of the failed test: {}", e.getMessage());
+        }
+        if (driver instanceof TakesScreenshot) {
+            try {
+                capture.screenshotBase64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            } catch (WebDriverException e) {
+                logger.debug("Could not take a screenshot of the failed test: {}", e.getMessage());
+            }
+        }
+        try {
+            capture.pageSource = driver.getPageSource();
+        } catch (WebDriverException e) {
+            logger.debug("Could not read the page source of the failed test: {}", e.getMessage());
+        }
+        try {
+            capture.consoleLog = driver.manage().logs().get(LogType.BROWSER).getAll();
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            logger.debug("Browser console log is not available: {}", e.getMessage());
+        }
+        capture.captureNanos = System.nanoTime() - start;
+        captured.increment();
+        captureNanos.add(capture.captureNanos);
+        return capture;
+    }
+
+    /**
+     * Names the attachments of the capture and queues them for processing into the Allure results directory
+     * (system property allure.results.directory, default allure-results).
+     *
+     * @param capture Raw artifacts from {@link #capture(WebDriver)}
+     * @return Attachments to add to the Allure result; their files are written in the background
+     */
+    public static List<Attachment> submit(Capture capture) {
+        return submit(capture, Paths.get(System.getProperty("allure.results.directory", "allure-results")));
+    }
+
+    /**
+     * Names the attachments of the capture and queues them for processing.
+     * The raw artifacts are handed over to the executor, so submitting the same capture again attaches nothing.
+     *
+     * @param capture Raw artifacts from {@link #capture(WebDriver)}
+     * @param dir     Directory the attachment files are written to
+     * @return Attachments to add to the Allure result; their files are written in the background
+     */
+    public static List<Attachment> submit(Capture capture, Path dir) {
+        long compressAboveChars = ConfigReader.snapshot().getLong("artifacts.compressAboveKb", 64) * 1024;
+        List<Attachment> attachments = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        if (capture.screenshotBase64 != null) {
+            String source = newSource(".png");
+            attachments.add(new Attachment().setName("Screenshot").setType("image/png").setSource(source));
+            String base64 = capture.screenshotBase64;
+            tasks.add(() -> write(dir.resolve(source), Base64.getMimeDecoder().decode(base64), false));
+        }
+        if (capture.pageSource != null) {
+            boolean compress = capture.pageSource.length() > compressAboveChars;
+            String source = newSource(compress ? ".html.gz" : ".html");
+            attachments.add(new Attachment().setName("Page source" + (capture.url != null ? ": " + capture.url : ""))
+                    .setType(compress ? "application/gzip" : "text/html").setSource(source));
+            String pageSource = capture.pageSource;
+            tasks.add(() -> write(dir.resolve(source), pageSource.getBytes(StandardCharsets.UTF_8), compress));
+        }
+        if (capture.consoleLog != null && !capture.consoleLog.isEmpty()) {
+            String source = newSource(".log");
+            attachments.add(new Attachment().setName("Browser console").setType("text/plain").setSource(source));
+            List<LogEntry> entries = capture.consoleLog;
+            tasks.add(() -> write(dir.resolve(source), formatConsoleLog(entries).getBytes(StandardCharsets.UTF_8), false));
+        }
+        capture.screenshotBase64 = null;
+        capture.pageSource = null;
+        capture.consoleLog = null;
+        if (!tasks.isEmpty()) {
+            getExecutor().execute(() -> {
+                long start = System.nanoTime();
+                tasks.forEach(Runnable::run);
+                processNanos.add(System.nanoTime() - start);
+            });
+        }
+        return attachments;
+    }
+
+    /**
+     * Waits until all queued artifacts are written and logs the capture and processing times of the run.
+     */
+    public static void drain() {
+        ThreadPoolExecutor pending;
+        synchronized (FailureArtifacts.class) {
+            pending = executor;
+            executor = null;
+        }
+        if (pending != null) {
+            pending.shutdown();
+            try {
+                long seconds = ConfigReader.snapshot().getLong("artifacts.drainSeconds", 60);
+                if (!pending.awaitTermination(seconds, TimeUnit.SECONDS)) {
+                    logger.warn("Failure artifacts still pending after {} s are dropped", seconds);
+                    pending.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (captured.sum() > 0) {
+            logger.info("Failure artifacts of {} test(s): captured in {} ms on test threads, processed in {} ms "
+                            + "({} file(s), {} deduplicated, {} KB written, {} processed on test threads due to a full queue)",
+                    captured.sum(), captureNanos.sum() / 1_000_000, processNanos.sum() / 1_000_000,
+                    written.sum(), deduplicated.sum(), bytesWritten.sum() / 1024, callerRuns.sum());
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int threads = ConfigReader.snapshot().getInt("artifacts.threads", 2);
+            int queueSize = ConfigReader.snapshot().getInt("artifacts.queueSize", 8);
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "failure-artifacts-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, pool) -> {
+                        // Backpressure: a full queue makes the submitting test thread do the work
+                        if (!pool.isShutdown()) {
+                            callerRuns.increment();
+                            runnable.run();
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Writes one artifact. Content written before is linked to the earlier file instead of being written again.
+     */
+    private static void write(Path file, byte[] content, boolean compress) {
+        try {
+            byte[] bytes = compress ? gzip(content) : content;
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            Files.createDirectories(file.getParent());
+            Path existing = writtenByHash.putIfAbsent(hash, file);
+            if (existing != null && Files.exists(existing)) {
+                try {
+                    Files.createLink(file, existing);
+                } catch (IOException | UnsupportedOperationException e) {
+                    Files.copy(existing, file);
+                }
+                deduplicated.increment();
+            } else {
+                Files.write(file, bytes);
+                bytesWritten.add(bytes.length);
+            }
+            written.increment();
+        } catch (IOException | NoSuchAlgorithmException | IllegalArgumentException e) {
+            logger.warn("Failed to write failure artifact {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String formatConsoleLog(List<LogEntry> entries) {
+        StringBuilder log = new StringBuilder();
+        for (LogEntry entry : entries) {
+            log.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+                    .append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n');
+        }
+        return log.toString();
+    }
+
+    private static String newSource(String extension) {
+        return UUID.randomUUID() + "-attachment" + extension;
+    }
+
+    /**
+     * Raw artifacts of one failed test, as returned by the browser.
+     */
+    public static class Capture {
+        private String url;
+        private String screenshotBase64;
+        private String pageSource;
+        private List<LogEntry> consoleLog;
+        private long captureNanos;
+
+        /**
+         * @return Time spent fetching the artifacts on the test thread, in ms
+         */
+        public long getCaptureMillis() {
+            return captureNanos / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * Launches Firefox sessions configured for a {@link DriverProfile}.
+ */
+public class FirefoxDriverFactory implements DriverFactory {
+
+    @Override
+    public String getBrowserName() {
+        return "firefox";
+    }
+
+    @Override
+    public WebDriver createDriver(DriverProfile profile) {
+        DriverBinaryResolver.resolve(getBrowserName());
+        return new FirefoxDriver(createOptions(profile));
+    }
+
+    /**
+     * Builds Firefox options for the given profile.
+     */
+    private FirefoxOptions createOptions(DriverProfile profile) {
+        FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(profile.getPageLoadStrategy()));
+        if (profile.isHeadless()) {
+            options.addArguments("-headless");
+        }
+        if (profile.hasWindowSize()) {
+            options.addArguments("--width=" + profile.getWindowWidth(), "--height=" + profile.getWindowHeight());
+        }
+        if (profile.isExtensionsDisabled()) {
+            options.addPreference("extensions.enabledScopes", 0);
+        }
+        if (profile.isImagesDisabled()) {
+            // 2 = block images for all sites
+            options.addPreference("permissions.default.image", 2);
+        }
+        return options;
+    }
+}
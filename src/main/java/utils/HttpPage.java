@@ -0,0 +1,92 @@
+package utils;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+
+/**
+ * An HTML document fetched over HTTP by {@link HttpPageCheck} and parsed with jsoup, without a browser.
+ *
+ * Elements are looked up with the same {@link By} locators the page objects use (converted by
+ * {@link Locators}). Only the served HTML is checked: content rendered by scripts is not visible here.
+ */
+public class HttpPage {
+    private final String url;
+    private final int statusCode;
+    private final Document document;
+    private final long fetchMillis;
+
+    HttpPage(String url, int statusCode, Document document, long fetchMillis) {
+        this.url = url;
+        this.statusCode = statusCode;
+        this.document = document;
+        this.fetchMillis = fetchMillis;
+    }
+
+    /**
+     * @return URL the page was requested from
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return HTTP status code of the final response (after redirects)
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return Time taken to fetch and parse the page, in milliseconds
+     */
+    public long getFetchMillis() {
+        return fetchMillis;
+    }
+
+    /**
+     * @return Content of the document's {@code <title>}
+     */
+    public String getTitle() {
+        return document.title();
+    }
+
+    /**
+     * @return true if at least one element matches the locator
+     */
+    public boolean isPresent(By locator) {
+        return !select(locator).isEmpty();
+    }
+
+    /**
+     * @return Number of elements matching the locator
+     */
+    public int count(By locator) {
+        return select(locator).size();
+    }
+
+    /**
+     * @return Text of the first element matching the locator, or null if there is none
+     */
+    public String getText(By locator) {
+        Element element = select(locator).first();
+        return element == null ? null : element.text();
+    }
+
+    /**
+     * @return The parsed document, for checks not covered by this class
+     */
+    public Document getDocument() {
+        return document;
+    }
+
+    private Elements select(By locator) {
+        return Locators.select(document, locator);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpPage[" + url + ", status " + statusCode + ", title '" + getTitle() + "']";
+    }
+}
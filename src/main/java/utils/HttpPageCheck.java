@@ -0,0 +1,122 @@
+package utils;
+
+import org.jsoup.Jsoup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * HttpPageCheck fetches pages by their config URL key (e.g. "baseUrl") with a shared, pooled HTTP client
+ * and parses them into {@link HttpPage}s, so title and element-presence checks run without a browser.
+ *
+ * Many pages can be fetched concurrently with {@link #fetchAll(List)}: requests are sent asynchronously
+ * and responses are parsed on a bounded daemon executor shared by all callers.
+ *
+ * Settings (system property > config.properties > default):
+ * - smoke.concurrency: number of threads handling and parsing responses (default 32)
+ */
+public class HttpPageCheck {
+    private static final Logger logger = LoggerFactory.getLogger(HttpPageCheck.class);
+
+    private static final ExecutorService executor = createExecutor();
+
+    // The client keeps connections to the same host alive and reuses them across checks
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(Timeouts.MEDIUM.getSeconds()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor)
+            .build();
+
+    private HttpPageCheck() {
+    }
+
+    /**
+     * Fetches and parses the page whose URL is configured under the given key.
+     *
+     * @param urlKey Key of the URL in config.properties, e.g. "baseUrl"
+     * @return The parsed page
+     * @throws IllegalStateException if the page cannot be fetched
+     */
+    public static HttpPage fetch(String urlKey) {
+        try {
+            return fetchAsync(urlKey).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Fetches and parses the page whose URL is configured under the given key, without blocking.
+     *
+     * @param urlKey Key of the URL in config.properties, e.g. "baseUrl"
+     * @return Future of the parsed page
+     */
+    public static CompletableFuture<HttpPage> fetchAsync(String urlKey) {
+        String url = ConfigReader.getConfigProperty(urlKey);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(Timeouts.MEDIUM.getSeconds()))
+                .header("Accept", "text/html")
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        throw new IllegalStateException("Failed to fetch " + url + ": " + cause.getMessage(), cause);
+                    }
+                    HttpPage page = new HttpPage(url, response.statusCode(), Jsoup.parse(response.body(), url),
+                            (System.nanoTime() - start) / 1_000_000);
+                    logger.debug("Fetched {} in {} ms", page, page.getFetchMillis());
+                    return page;
+                });
+    }
+
+    /**
+     * Fetches and parses all pages concurrently.
+     *
+     * @param urlKeys Keys of the URLs in config.properties
+     * @return Parsed pages in the order of the keys
+     * @throws IllegalStateException if any page cannot be fetched
+     */
+    public static List<HttpPage> fetchAll(List<String> urlKeys) {
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpPage>> futures = urlKeys.stream()
+                .map(HttpPageCheck::fetchAsync)
+                .collect(Collectors.toList());
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        List<HttpPage> pages = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        logger.info("Fetched {} page(s) without a browser in {} ms", pages.size(), (System.nanoTime() - start) / 1_000_000);
+        return pages;
+    }
+
+    /**
+     * Creates the bounded executor for the HTTP client. Java 17 has no virtual threads, so a fixed
+     * pool of daemon threads handles the responses; the requests themselves are non-blocking.
+     */
+    private static ExecutorService createExecutor() {
+        int threads = ConfigReader.snapshot().getInt("smoke.concurrency", 32);
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "http-page-check-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
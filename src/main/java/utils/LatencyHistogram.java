@@ -0,0 +1,110 @@
+package utils;
+
+/**
+ * LatencyHistogram is a compact log-linear histogram of latencies in microseconds.
+ *
+ * Values below 64 µs are recorded exactly; larger values fall into one of 32 sub-buckets per power of two,
+ * which bounds the relative error of reported percentiles to about 3%. Recording is a few arithmetic
+ * operations and an array increment, with no allocation.
+ *
+ * Instances are not thread-safe: each thread records into its own histogram and histograms are merged
+ * once recording has finished.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int MAX_EXPONENT = 40; // 2^40 µs is about 12 days
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalMicros;
+    private long maxMicros;
+
+    /**
+     * Records a single latency.
+     *
+     * @param micros Latency in microseconds; negative values are recorded as 0
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        totalMicros += value;
+        if (value > maxMicros) {
+            maxMicros = value;
+        }
+    }
+
+    /**
+     * Adds all values recorded in another histogram to this one.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalMicros += other.totalMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded latencies fall.
+     *
+     * @param percentile Percentile between 0 and 100 (e.g. 95)
+     * @return Latency in microseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketMidpoint(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public double getMeanMicros() {
+        return totalCount == 0 ? 0 : (double) totalMicros / totalCount;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT - 1);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) Math.min(value >> shift, 2 * SUB_BUCKETS - 1) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketMidpoint(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKETS + 1;
+        long subBucket = offset % SUB_BUCKETS + SUB_BUCKETS;
+        long lower = subBucket << shift;
+        return lower + (1L << shift) / 2;
+    }
+}
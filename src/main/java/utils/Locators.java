@@ -0,0 +1,120 @@
+package utils;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+
+/**
+ * Locators converts Selenium {@link By} locators into selectors that can be evaluated outside of
+ * the WebDriver find commands, e.g. inside an injected script or against a parsed HTML document.
+ *
+ * Only locators with a CSS or XPath equivalent are supported (id, className, name, cssSelector,
+ * tagName and xpath); all other locators (e.g. linkText) return null so callers can fall back
+ * to the regular commands.
+ */
+public final class Locators {
+
+    public static final String CSS = "css selector";
+    public static final String XPATH = "xpath";
+
+    private Locators() {
+    }
+
+    /**
+     * Returns the strategy of the locator as used by the W3C protocol: "css selector" or "xpath".
+     *
+     * @param locator Selenium locator
+     * @return Strategy name, or null if the locator has no CSS or XPath equivalent
+     */
+    public static String getStrategy(By locator) {
+        By.Remotable.Parameters parameters = getParameters(locator);
+        if (parameters == null) {
+            return null;
+        }
+        return XPATH.equals(parameters.using()) ? XPATH : CSS;
+    }
+
+    /**
+     * Returns the selector of the locator in the syntax of {@link #getStrategy(By)}.
+     * By.id and By.className are converted to their (escaped) CSS form, e.g. "#username".
+     *
+     * @param locator Selenium locator
+     * @return Selector, or null if the locator has no CSS or XPath equivalent
+     */
+    public static String getSelector(By locator) {
+        By.Remotable.Parameters parameters = getParameters(locator);
+        return parameters == null ? null : String.valueOf(parameters.value());
+    }
+
+    /**
+     * Returns the CSS selector equivalent to the locator.
+     *
+     * @param locator Selenium locator
+     * @return CSS selector, or null if the locator is not expressible in CSS (e.g. xpath)
+     */
+    public static String toCss(By locator) {
+        return CSS.equals(getStrategy(locator)) ? getSelector(locator) : null;
+    }
+
+    /**
+     * Selects the elements matching the locator in a parsed (jsoup) document or subtree.
+     * The root itself is included if it matches.
+     *
+     * @param root    Document or element to search
+     * @param locator Selenium locator
+     * @return Matching elements in document order
+     * @throws IllegalArgumentException if the locator has no CSS or XPath equivalent
+     */
+    public static Elements select(Element root, By locator) {
+        String strategy = getStrategy(locator);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Locator is not supported without a browser: " + locator);
+        }
+        String selector = getSelector(locator);
+        return XPATH.equals(strategy) ? root.selectXpath(selector) : root.select(selector);
+    }
+
+    private static By.Remotable.Parameters getParameters(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case CSS:
+            case XPATH:
+                return parameters;
+            case "id":
+                return new By.Remotable.Parameters(CSS, "#" + escapeCss(value));
+            case "class name":
+                return new By.Remotable.Parameters(CSS, "." + escapeCss(value));
+            case "name":
+                return new By.Remotable.Parameters(CSS, "*[name='" + value.replace("'", "\\'") + "']");
+            case "tag name":
+                return new By.Remotable.Parameters(CSS, value);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Escapes an identifier for use in a CSS selector, following the CSS.escape() rules for the
+     * characters that occur in ids and class names.
+     */
+    private static String escapeCss(String identifier) {
+        StringBuilder escaped = new StringBuilder(identifier.length());
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            boolean plain = Character.isLetter(c) || c == '_' || c == '-' || c >= 0x80
+                    || (Character.isDigit(c) && i > 0 && !(i == 1 && identifier.charAt(0) == '-'));
+            if (plain) {
+                escaped.append(c);
+            } else if (Character.isDigit(c)) {
+                escaped.append('\\').append(Integer.toHexString(c)).append(' ');
+            } else {
+                escaped.append('\\').append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
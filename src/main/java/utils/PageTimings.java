@@ -0,0 +1,103 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PageTimings holds the Navigation Timing and Paint Timing metrics of the current document,
+ * read from the browser in a single script call. All values are milliseconds since the navigation started;
+ * a metric the browser has not reached yet (e.g. load with the "eager" page-load strategy) is -1.
+ */
+public class PageTimings {
+    public static final String TTFB = "ttfb";
+    public static final String DOM_CONTENT_LOADED = "domContentLoaded";
+    public static final String LOAD = "load";
+    public static final String FIRST_CONTENTFUL_PAINT = "fcp";
+
+    /**
+     * Metric names in report order.
+     */
+    public static final List<String> METRICS = List.of(TTFB, DOM_CONTENT_LOADED, LOAD, FIRST_CONTENTFUL_PAINT);
+
+    private static final String TIMINGS_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (!nav) { return null; }"
+            + "var fcp = performance.getEntriesByName('first-contentful-paint')[0];"
+            + "return {timeOrigin: performance.timeOrigin, url: nav.name,"
+            + "  ttfb: nav.responseStart,"
+            + "  domContentLoaded: nav.domContentLoadedEventEnd || -1,"
+            + "  load: nav.loadEventEnd || -1,"
+            + "  fcp: fcp ? fcp.startTime : -1};";
+
+    private final String url;
+    private final double timeOrigin;
+    private final Map<String, Long> metrics;
+
+    /**
+     * @param url        URL of the document
+     * @param timeOrigin Start of the navigation (performance.timeOrigin), identifies the document
+     * @param metrics    Metric values by name, -1 for metrics not reached yet
+     */
+    public PageTimings(String url, double timeOrigin, Map<String, Long> metrics) {
+        this.url = url;
+        this.timeOrigin = timeOrigin;
+        this.metrics = new LinkedHashMap<>(metrics);
+    }
+
+    /**
+     * Reads the timings of the current document.
+     *
+     * @param driver WebDriver to read from
+     * @return The timings, or null if the driver cannot run scripts or the browser has no Navigation Timing entry
+     */
+    @SuppressWarnings("unchecked")
+    public static PageTimings capture(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        Object response;
+        try {
+            response = ((JavascriptExecutor) driver).executeScript(TIMINGS_SCRIPT);
+        } catch (WebDriverException e) {
+            return null;
+        }
+        if (!(response instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> values = (Map<String, Object>) response;
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            Object value = values.get(metric);
+            metrics.put(metric, value instanceof Number ? Math.round(((Number) value).doubleValue()) : -1);
+        }
+        Object timeOrigin = values.get("timeOrigin");
+        return new PageTimings(String.valueOf(values.get("url")),
+                timeOrigin instanceof Number ? ((Number) timeOrigin).doubleValue() : 0, metrics);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public double getTimeOrigin() {
+        return timeOrigin;
+    }
+
+    /**
+     * @param metric One of {@link #METRICS}
+     * @return Value in milliseconds, or -1 if the browser has not reached the metric
+     */
+    public long get(String metric) {
+        return metrics.getOrDefault(metric, -1L);
+    }
+
+    @Override
+    public String toString() {
+        return url + " " + metrics;
+    }
+}
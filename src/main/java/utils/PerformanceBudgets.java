@@ -0,0 +1,141 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PerformanceBudgets compares the {@link PageTimings} of each loaded page against per-page budgets.
+ *
+ * Pages are checked once their load condition is met ({@code BasePage.waitForPageToLoad}), which covers
+ * {@code openUrl} as well as transitions such as {@code AdminBasePage.logout}. Transitions that do not load
+ * a new document (client-side routing) have no new Navigation Timing entry and are skipped.
+ * Every check is attached to the Allure report and appended to a CSV trend file that is kept across runs.
+ *
+ * Settings (system property > config.properties > default):
+ * - budget.mode: off, warn (log breaches) or fail (fail the test on a breach) (default warn)
+ * - budget.&lt;PageClass&gt;.&lt;metric&gt;: budget in ms for one page, metric is ttfb, domContentLoaded, load or fcp
+ * - budget.default.&lt;metric&gt;: budget in ms for pages without their own budget (default none)
+ * - budget.trendFile: CSV trend file (default .test-history/page-timings.csv)
+ */
+public final class PerformanceBudgets {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBudgets.class);
+
+    private static final String TREND_HEADER = "timestamp,page,url," + String.join(",", PageTimings.METRICS) + ",breaches";
+
+    // Document last checked by this thread, so a page is not checked twice without a new navigation
+    private static final ThreadLocal<Double> lastTimeOrigin = new ThreadLocal<>();
+
+    private PerformanceBudgets() {
+    }
+
+    /**
+     * Reads the timings of the current page and checks them against the page's budgets.
+     *
+     * @param page   Page name used to look up budgets, e.g. "HomePage"
+     * @param driver WebDriver showing the page
+     * @throws AssertionError if a budget is exceeded and budget.mode is fail
+     */
+    public static void check(String page, WebDriver driver) {
+        String mode = ConfigReader.snapshot().get("budget.mode", "warn").trim().toLowerCase(Locale.ROOT);
+        if ("off".equals(mode)) {
+            return;
+        }
+        PageTimings timings = PageTimings.capture(driver);
+        if (timings == null) {
+            logger.debug("No Navigation Timing available for {}, budgets not checked", page);
+            return;
+        }
+        if (Double.valueOf(timings.getTimeOrigin()).equals(lastTimeOrigin.get())) {
+            logger.debug("{} was shown without loading a new document, budgets not checked", page);
+            return;
+        }
+        lastTimeOrigin.set(timings.getTimeOrigin());
+
+        List<String> breaches = evaluate(page, timings);
+        Allure.addAttachment("Page timings: " + page, "text/plain", toReport(page, timings, breaches));
+        appendTrend(page, timings, breaches);
+        if (breaches.isEmpty()) {
+            logger.info("Page timings of {}: {}", page, timings);
+        } else if ("fail".equals(mode)) {
+            throw new AssertionError("Performance budget exceeded on " + page + ": " + String.join(", ", breaches));
+        } else {
+            logger.warn("Performance budget exceeded on {}: {}", page, String.join(", ", breaches));
+        }
+    }
+
+    /**
+     * Compares the timings against the budgets of the page. Metrics without a budget
+     * and metrics the browser has not reached yet are not checked.
+     *
+     * @param page    Page name used to look up budgets
+     * @param timings Timings of the page
+     * @return One description per exceeded budget, e.g. "load 8200 ms > 6000 ms"; empty if all budgets are met
+     */
+    public static List<String> evaluate(String page, PageTimings timings) {
+        List<String> breaches = new ArrayList<>();
+        for (String metric : PageTimings.METRICS) {
+            long budget = getBudget(page, metric);
+            long value = timings.get(metric);
+            if (budget >= 0 && value > budget) {
+                breaches.add(metric + " " + value + " ms > " + budget + " ms");
+            }
+        }
+        return breaches;
+    }
+
+    /**
+     * @return Budget of the metric in ms for the page, falling back to the default budget; -1 if there is none
+     */
+    private static long getBudget(String page, String metric) {
+        ConfigSnapshot config = ConfigReader.snapshot();
+        return config.getLong("budget." + page + "." + metric, config.getLong("budget.default." + metric, -1));
+    }
+
+    private static String toReport(String page, PageTimings timings, List<String> breaches) {
+        StringBuilder report = new StringBuilder(page).append(" (").append(timings.getUrl()).append(")\n");
+        for (String metric : PageTimings.METRICS) {
+            long budget = getBudget(page, metric);
+            report.append(String.format(Locale.ROOT, "%-17s %6d ms  budget %s%n", metric, timings.get(metric),
+                    budget >= 0 ? budget + " ms" : "none"));
+        }
+        report.append(breaches.isEmpty() ? "All budgets met" : "Exceeded: " + String.join(", ", breaches));
+        return report.toString();
+    }
+
+    /**
+     * Appends one line per check to the trend file; parallel threads append under a lock.
+     */
+    private static synchronized void appendTrend(String page, PageTimings timings, List<String> breaches) {
+        Path trendFile = Paths.get(ConfigReader.snapshot().get("budget.trendFile", ".test-history/page-timings.csv"));
+        StringBuilder line = new StringBuilder()
+                .append(Instant.now()).append(',').append(page).append(',').append(timings.getUrl().replace(",", "%2C"));
+        for (String metric : PageTimings.METRICS) {
+            line.append(',').append(timings.get(metric));
+        }
+        line.append(',').append(breaches.size()).append('\n');
+        try {
+            if (trendFile.getParent() != null) {
+                Files.createDirectories(trendFile.getParent());
+            }
+            if (!Files.exists(trendFile)) {
+                Files.writeString(trendFile, TREND_HEADER + "\n", StandardCharsets.UTF_8);
+            }
+            Files.writeString(trendFile, line, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Failed to update page timing trend file {}: {}", trendFile, e.getMessage());
+        }
+    }
+}
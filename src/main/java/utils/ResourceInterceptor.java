@@ -0,0 +1,393 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * ResourceInterceptor intercepts the network traffic of Chromium drivers (Chrome, Edge) through DevTools,
+ * so page loads do not wait for resources the tests never assert on.
+ *
+ * Per driver profile it
+ * - blocks resource types (font, image, media, stylesheet, script; derived from the URL extension)
+ *   and URL patterns ({@code *} matches any characters) with an empty response, and
+ * - optionally serves static assets (fonts, images, stylesheets, scripts) from an on-disk cache
+ *   that is kept between runs, so repeated page loads do not download them again.
+ * Page documents are never blocked or cached. Requests and bytes saved are logged per page load;
+ * bytes of blocked requests are only known for assets that are in the static cache.
+ *
+ * Settings (system property > config.properties > default):
+ * - network.&lt;profile&gt;.blockTypes: comma-separated resource types to block (default none)
+ * - network.&lt;profile&gt;.blockUrls: comma-separated URL patterns to block (default none)
+ * - network.&lt;profile&gt;.staticCache: serve static assets from the on-disk cache (default false)
+ * - network.staticCache.dir: cache directory (default ~/.cache/selenium-training/static)
+ * - network.staticCache.ttlHours: how long a cached asset is served before it is downloaded again (default 24)
+ */
+public class ResourceInterceptor implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceInterceptor.class);
+
+    private static final Map<String, Set<String>> RESOURCE_TYPES = Map.of(
+            "font", Set.of("woff", "woff2", "ttf", "otf", "eot"),
+            "image", Set.of("png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico", "bmp"),
+            "media", Set.of("mp4", "webm", "ogg", "mp3", "wav"),
+            "stylesheet", Set.of("css"),
+            "script", Set.of("js", "mjs"));
+    private static final Set<String> STATIC_TYPES = Set.of("font", "image", "stylesheet", "script");
+
+    // Totals of all interceptors, reported at the end of the suite
+    private static final LongAdder totalBlocked = new LongAdder();
+    private static final LongAdder totalCached = new LongAdder();
+    private static final LongAdder totalBytesSaved = new LongAdder();
+
+    private final Set<String> blockedTypes;
+    private final List<Pattern> blockedUrls;
+    private final Path cacheDir;
+    private final Duration cacheTtl;
+
+    // Statistics of the current page load; requests are intercepted on DevTools threads
+    private volatile String pageUrl;
+    private final AtomicInteger pageBlocked = new AtomicInteger();
+    private final AtomicInteger pageCached = new AtomicInteger();
+    private final AtomicLong pageBytesSaved = new AtomicLong();
+
+    /**
+     * @param blockedTypes       Resource types to block, e.g. "font" or "image"
+     * @param blockedUrlPatterns URL patterns to block, e.g. "*google-analytics.com*"
+     * @param cacheDir           Directory of the static asset cache, or null to disable the cache
+     * @param cacheTtl           How long a cached asset is served
+     */
+    public ResourceInterceptor(Set<String> blockedTypes, List<String> blockedUrlPatterns, Path cacheDir,
+                               Duration cacheTtl) {
+        for (String type : blockedTypes) {
+            if (!RESOURCE_TYPES.containsKey(type)) {
+                throw new IllegalArgumentException("Unsupported resource type: " + type
+                        + " (supported: " + RESOURCE_TYPES.keySet() + ")");
+            }
+        }
+        this.blockedTypes = Set.copyOf(blockedTypes);
+        this.blockedUrls = new ArrayList<>();
+        for (String pattern : blockedUrlPatterns) {
+            blockedUrls.add(toRegex(pattern));
+        }
+        this.cacheDir = cacheDir;
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Intercepts the traffic of the driver as configured for the profile. Drivers without DevTools
+     * (Firefox, Safari) and profiles without blocking or caching are left untouched. Must be called on
+     * the driver returned by the browser, not on a decorated one.
+     *
+     * @param driver  Newly launched driver
+     * @param profile Profile the driver was launched with
+     */
+    public static void attach(WebDriver driver, DriverProfile profile) {
+        ResourceInterceptor interceptor = forProfile(profile);
+        if (interceptor == null) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.debug("Driver {} has no DevTools, network interception skipped", driver.getClass().getSimpleName());
+            return;
+        }
+        try {
+            // The interceptor stays active until the session is quit
+            new NetworkInterceptor(driver, interceptor);
+            logger.info("Network interception for profile '{}': blocking types {} and {} URL pattern(s), static cache {}",
+                    profile.getProfileName(), interceptor.blockedTypes, interceptor.blockedUrls.size(),
+                    interceptor.cacheDir == null ? "off" : interceptor.cacheDir);
+        } catch (RuntimeException e) {
+            // E.g. a browser version without matching DevTools bindings: run without interception
+            logger.warn("Network interception not available for profile '{}': {}",
+                    profile.getProfileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the interceptor configured for the profile.
+     *
+     * @return The interceptor, or null if the profile neither blocks nor caches anything
+     */
+    public static ResourceInterceptor forProfile(DriverProfile profile) {
+        String prefix = "network." + profile.getProfileName() + ".";
+        Set<String> types = new LinkedHashSet<>(splitSetting(prefix + "blockTypes"));
+        List<String> urls = splitSetting(prefix + "blockUrls");
+        boolean staticCache = ConfigReader.snapshot().getBoolean(prefix + "staticCache", false);
+        if (types.isEmpty() && urls.isEmpty() && !staticCache) {
+            return null;
+        }
+        String defaultDir = Paths.get(System.getProperty("user.home"), ".cache", "selenium-training", "static").toString();
+        return new ResourceInterceptor(types, urls,
+                staticCache ? Paths.get(ConfigReader.snapshot().get("network.staticCache.dir", defaultDir)) : null,
+                ConfigReader.snapshot().getDuration("network.staticCache.ttlHours", ChronoUnit.HOURS, Duration.ofHours(24)));
+    }
+
+    /**
+     * Logs the requests and bytes saved by all interceptors during this run.
+     */
+    public static void logSummary() {
+        long blocked = totalBlocked.sum();
+        long cached = totalCached.sum();
+        if (blocked + cached == 0) {
+            return;
+        }
+        logger.info("Network interception: {} request(s) blocked, {} served from the static cache, {} KB saved",
+                blocked, cached, totalBytesSaved.sum() / 1024);
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> intercept(request, next);
+    }
+
+    /**
+     * @return Requests blocked during the current page load
+     */
+    public int getBlockedCount() {
+        return pageBlocked.get();
+    }
+
+    /**
+     * @return Requests served from the static cache during the current page load
+     */
+    public int getCachedCount() {
+        return pageCached.get();
+    }
+
+    /**
+     * @return Bytes not downloaded during the current page load
+     */
+    public long getBytesSaved() {
+        return pageBytesSaved.get();
+    }
+
+    private HttpResponse intercept(HttpRequest request, HttpHandler next) {
+        String url = request.getUri();
+        if (isDocument(request)) {
+            startPageLoad(url);
+            return NetworkInterceptor.PROCEED_WITH_REQUEST;
+        }
+
+        String type = getResourceType(url);
+        if (isBlocked(url, type)) {
+            Path body = cacheDir == null ? null : getCacheFile(url, ".body");
+            recordSaved(pageBlocked, totalBlocked, body != null && Files.isRegularFile(body) ? size(body) : 0);
+            logger.debug("Blocked {}", url);
+            return new HttpResponse().setStatus(204);
+        }
+
+        if (cacheDir == null || !STATIC_TYPES.contains(type) || request.getMethod() != HttpMethod.GET) {
+            return NetworkInterceptor.PROCEED_WITH_REQUEST;
+        }
+        HttpResponse cached = readCache(url);
+        if (cached != null) {
+            recordSaved(pageCached, totalCached, Contents.bytes(cached.getContent()).length);
+            logger.debug("Served {} from the static cache", url);
+            return cached;
+        }
+        HttpResponse response = next.execute(request);
+        if (response.getStatus() == 200) {
+            byte[] body = Contents.bytes(response.getContent());
+            response.setContent(Contents.bytes(body));
+            writeCache(url, response.getHeader("Content-Type"), body);
+        }
+        return response;
+    }
+
+    /**
+     * Navigations ask for HTML; sub-resources (including XHR/fetch calls) do not.
+     */
+    private static boolean isDocument(HttpRequest request) {
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.startsWith("text/html");
+    }
+
+    /**
+     * Logs what the previous page load saved and starts counting for the new one.
+     */
+    private void startPageLoad(String url) {
+        String previous = pageUrl;
+        int blocked = pageBlocked.getAndSet(0);
+        int cached = pageCached.getAndSet(0);
+        long bytes = pageBytesSaved.getAndSet(0);
+        pageUrl = url;
+        if (previous != null && blocked + cached > 0) {
+            logger.info("Page load {}: {} request(s) blocked, {} served from the static cache, {} KB saved",
+                    previous, blocked, cached, bytes / 1024);
+        }
+    }
+
+    private void recordSaved(AtomicInteger pageCounter, LongAdder totalCounter, long bytes) {
+        pageCounter.incrementAndGet();
+        pageBytesSaved.addAndGet(bytes);
+        totalCounter.increment();
+        totalBytesSaved.add(bytes);
+    }
+
+    private boolean isBlocked(String url, String type) {
+        if (type != null && blockedTypes.contains(type)) {
+            return true;
+        }
+        for (Pattern pattern : blockedUrls) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Derives the resource type from the extension of the URL path.
+     *
+     * @return The resource type, or null if the extension is not known
+     */
+    static String getResourceType(String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (path == null) {
+            return null;
+        }
+        int dot = path.lastIndexOf('.');
+        if (dot < 0 || dot < path.lastIndexOf('/')) {
+            return null;
+        }
+        String extension = path.substring(dot + 1).toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, Set<String>> type : RESOURCE_TYPES.entrySet()) {
+            if (type.getValue().contains(extension)) {
+                return type.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cached response, or null if the asset is not cached or the entry has expired.
+     */
+    private HttpResponse readCache(String url) {
+        Path meta = getCacheFile(url, ".properties");
+        Path body = getCacheFile(url, ".body");
+        if (!Files.isRegularFile(meta) || !Files.isRegularFile(body)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            properties.load(in);
+            long storedAt = Long.parseLong(properties.getProperty("storedAt", "0"));
+            if (System.currentTimeMillis() - storedAt > cacheTtl.toMillis()) {
+                return null;
+            }
+            HttpResponse response = new HttpResponse().setStatus(200).setContent(Contents.bytes(Files.readAllBytes(body)));
+            String contentType = properties.getProperty("contentType");
+            if (contentType != null) {
+                response.setHeader("Content-Type", contentType);
+            }
+            return response;
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to read cached asset {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the asset. Files are written to temporary files and moved into place, and the metadata is
+     * written last, so parallel drivers and JVMs never read a half-written entry.
+     */
+    private void writeCache(String url, String contentType, byte[] body) {
+        Properties properties = new Properties();
+        properties.setProperty("url", url);
+        properties.setProperty("storedAt", String.valueOf(System.currentTimeMillis()));
+        if (contentType != null) {
+            properties.setProperty("contentType", contentType);
+        }
+        try {
+            Files.createDirectories(cacheDir);
+            Path temp = Files.createTempFile(cacheDir, "asset", ".tmp");
+            Files.write(temp, body);
+            Files.move(temp, getCacheFile(url, ".body"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            temp = Files.createTempFile(cacheDir, "asset", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Cached static asset");
+            }
+            Files.move(temp, getCacheFile(url, ".properties"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to cache asset {}: {}", url, e.getMessage());
+        }
+    }
+
+    private Path getCacheFile(String url, String suffix) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return cacheDir.resolve(HexFormat.of().formatHex(hash) + suffix);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Pattern toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : pattern.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    private static List<String> splitSetting(String key) {
+        List<String> values = new ArrayList<>();
+        for (String value : ConfigReader.snapshot().get(key, "").split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,209 @@
+package utils;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * RingBufferAppender holds the log events of a running test in memory instead of writing them right away.
+ *
+ * A test thread starts a capture with {@link #startCapture()}. Until the capture ends, every event logged on that
+ * thread goes into a per-thread ring buffer of the last {@code capacity} events; older events are dropped.
+ * A passed test calls {@link #discardCapture()} and its events are never formatted or written. A failed test calls
+ * {@link #flushCapture()}, which replays the buffered events to the attached appenders (e.g. the console).
+ * Events of threads without a capture (suite setup, helper threads) are passed through immediately.
+ *
+ * Configured in logback.xml around the real appenders:
+ * <pre>
+ * &lt;appender name="TEST_BUFFER" class="utils.RingBufferAppender"&gt;
+ *     &lt;capacity&gt;500&lt;/capacity&gt;
+ *     &lt;pattern&gt;...&lt;/pattern&gt;
+ *     &lt;appender-ref ref="CONSOLE"/&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ * The pattern formats the captured log of a failed test for reports ({@link #getCapturedLog()}).
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+    private static final ThreadLocal<Buffer> buffers = new ThreadLocal<>();
+    // Formatted log of the last flushed capture, kept for reports until the thread starts the next capture
+    private static final ThreadLocal<String> lastFlushed = new ThreadLocal<>();
+
+    private static volatile RingBufferAppender active;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final PatternLayout layout = new PatternLayout();
+    private int capacity = 500;
+    private String pattern = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public void start() {
+        if (capacity < 1) {
+            addError("capacity must be at least 1 for appender " + getName());
+            return;
+        }
+        layout.setContext(getContext());
+        layout.setPattern(pattern);
+        layout.start();
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+        layout.stop();
+        appenders.detachAndStopAllAppenders();
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Buffer buffer = buffers.get();
+        if (buffer == null) {
+            appenders.appendLoopOnAppenders(event);
+        } else {
+            buffer.add(event);
+        }
+    }
+
+    /**
+     * Starts buffering the events of the current thread, discarding any capture left over from a previous test.
+     * Does nothing if no RingBufferAppender is configured.
+     */
+    public static void startCapture() {
+        lastFlushed.remove();
+        RingBufferAppender appender = active;
+        if (appender != null) {
+            buffers.set(new Buffer(appender.capacity));
+        }
+    }
+
+    /**
+     * Ends the capture of the current thread without writing its events.
+     */
+    public static void discardCapture() {
+        buffers.remove();
+        lastFlushed.remove();
+    }
+
+    /**
+     * Ends the capture of the current thread and writes its events to the attached appenders.
+     *
+     * @return Number of events written
+     */
+    public static int flushCapture() {
+        Buffer buffer = buffers.get();
+        RingBufferAppender appender = active;
+        buffers.remove();
+        if (buffer == null || appender == null) {
+            return 0;
+        }
+        lastFlushed.set(appender.format(buffer));
+        for (ILoggingEvent event : buffer.events) {
+            appender.appenders.appendLoopOnAppenders(event);
+        }
+        return buffer.events.size();
+    }
+
+    /**
+     * @return Formatted log of the current capture, or of the last flushed one; null if there is none
+     */
+    public static String getCapturedLog() {
+        Buffer buffer = buffers.get();
+        RingBufferAppender appender = active;
+        if (buffer != null && appender != null) {
+            return appender.format(buffer);
+        }
+        return lastFlushed.get();
+    }
+
+    /**
+     * @return true if the events of the current thread are being buffered
+     */
+    public static boolean isCapturing() {
+        return buffers.get() != null;
+    }
+
+    private String format(Buffer buffer) {
+        StringBuilder log = new StringBuilder();
+        if (buffer.dropped > 0) {
+            log.append("... ").append(buffer.dropped).append(" earlier event(s) dropped\n");
+        }
+        for (ILoggingEvent event : buffer.events) {
+            log.append(layout.doLayout(event));
+        }
+        return log.toString();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    /**
+     * Ring buffer of the events of one thread. Events are kept unformatted, so discarded events cost no formatting.
+     */
+    private static class Buffer {
+        private final ArrayDeque<ILoggingEvent> events = new ArrayDeque<>();
+        private final int capacity;
+        private long dropped;
+
+        private Buffer(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void add(ILoggingEvent event) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+                dropped++;
+            }
+            events.addLast(event);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Launches Safari sessions on macOS.
+ * Safari has no headless mode and ignores image and extension settings,
+ * so only the page-load strategy and window size of a {@link DriverProfile} are applied.
+ */
+public class SafariDriverFactory implements DriverFactory {
+    private static final Logger logger = LoggerFactory.getLogger(SafariDriverFactory.class);
+
+    @Override
+    public String getBrowserName() {
+        return "safari";
+    }
+
+    @Override
+    public WebDriver createDriver(DriverProfile profile) {
+        if (!System.getProperty("os.name").toLowerCase().contains("mac")) {
+            throw new UnsupportedOperationException("Safari is only supported on macOS.");
+        }
+        if (profile.isHeadless()) {
+            logger.warn("Safari does not support headless mode, profile '{}' runs with a visible window",
+                    profile.getProfileName());
+        }
+        SafariOptions options = new SafariOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(profile.getPageLoadStrategy()));
+        SafariDriver driver = new SafariDriver(options);
+        if (profile.hasWindowSize()) {
+            driver.manage().window().setSize(new Dimension(profile.getWindowWidth(), profile.getWindowHeight()));
+        }
+        return driver;
+    }
+}
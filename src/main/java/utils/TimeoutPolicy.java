@@ -0,0 +1,304 @@
+package utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * TimeoutPolicy derives the timeout of each named wait (e.g. "HomePage: By.cssSelector: ...") from how long
+ * the wait took in earlier runs, instead of one fixed {@link Timeouts} value for every wait.
+ *
+ * Waits of page objects ({@link #await(WebDriver, String, Duration, Consumer)}) are kept apart per origin of baseUrl
+ * and browser (e.g. "[https://automationintesting.online chrome] HomePage: ..."), since the same wait takes
+ * differently long on another site or in another browser. They are neither learned nor recorded in drivers without
+ * capabilities (in-memory test drivers) or against the local stand-in site (localSite.enabled).
+ *
+ * Successful waits are recorded in a local history file (the latest {@code timeouts.samples} durations per wait).
+ * Once a wait has {@code timeouts.minSamples} samples, its timeout is the {@code timeouts.percentile} percentile
+ * plus {@code timeouts.marginPercent} of it, clamped between the {@code timeouts.floor} and {@code timeouts.ceiling}
+ * values of {@link Timeouts}. Waits without enough history use the timeout configured for the thread.
+ * A failing wait reports how its duration compares with the learned median, percentile and maximum.
+ *
+ * Settings (system property > config.properties > default):
+ * - timeouts.adaptive: use learned timeouts; false only records durations (default true)
+ * - timeouts.historyFile: wait duration store (default .test-history/wait-latencies.properties)
+ * - timeouts.samples: durations kept per wait (default 50)
+ * - timeouts.minSamples: durations needed before a timeout is learned (default 5)
+ * - timeouts.percentile: percentile of the durations the timeout is based on (default 95)
+ * - timeouts.marginPercent: margin added to the percentile (default 100, i.e. twice the percentile)
+ * - timeouts.floor: shortest learned timeout, a Timeouts value (default SHORT)
+ * - timeouts.ceiling: longest learned timeout, a Timeouts value (default LONG)
+ */
+public class TimeoutPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(TimeoutPolicy.class);
+
+    private static TimeoutPolicy shared;
+
+    private final Path file;
+    private final Map<String, Deque<Long>> samples = new ConcurrentHashMap<>();
+    // Durations recorded in this JVM, the only ones added to the file on save()
+    private final Map<String, List<Long>> recorded = new ConcurrentHashMap<>();
+
+    /**
+     * @param file Properties file to read and write; missing files start an empty history
+     */
+    public TimeoutPolicy(Path file) {
+        this.file = file;
+        for (Map.Entry<String, List<Long>> entry : read(file).entrySet()) {
+            samples.put(entry.getKey(), new ArrayDeque<>(entry.getValue()));
+        }
+    }
+
+    /**
+     * @return The policy of the configured history file, shared by all threads of this JVM
+     */
+    public static synchronized TimeoutPolicy getShared() {
+        if (shared == null) {
+            shared = new TimeoutPolicy(Paths.get(ConfigReader.snapshot().get("timeouts.historyFile", ".test-history/wait-latencies.properties")));
+        }
+        return shared;
+    }
+
+    /**
+     * Runs a wait of a page object in the given driver, named after the origin of baseUrl and the browser.
+     * Waits that must not be learned (see the class description) run with the configured timeout.
+     *
+     * @param driver     Driver the wait runs in
+     * @param waitName   Name of the wait, stable across runs, e.g. "HomePage: By.id: createRoom"
+     * @param configured Timeout configured for the thread
+     * @param wait       The wait, called with the timeout to use
+     */
+    public void await(WebDriver driver, String waitName, Duration configured, Consumer<Duration> wait) {
+        String scope = getScope(driver);
+        if (scope == null) {
+            wait.accept(configured);
+            return;
+        }
+        await(scope + " " + waitName, configured, wait);
+    }
+
+    /**
+     * Runs a named wait with its learned timeout and records how long it took.
+     *
+     * @param waitName   Name of the wait, stable across runs
+     * @param configured Timeout configured for the thread, used until the wait has a history
+     * @param wait       The wait, called with the timeout to use
+     * @throws TimeoutException if the wait timed out, with the learned distribution in the message
+     */
+    public void await(String waitName, Duration configured, Consumer<Duration> wait) {
+        Duration timeout = getTimeout(waitName, configured);
+        long start = System.nanoTime();
+        try {
+            wait.accept(timeout);
+        } catch (TimeoutException e) {
+            long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+            throw new TimeoutException(e.getMessage() + System.lineSeparator() + describe(waitName, waitedMillis)
+                    + " (timeout " + timeout.toMillis() + " ms)", e);
+        }
+        record(waitName, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param waitName   Name of the wait
+     * @param configured Timeout to use while the wait has too little history
+     * @return Learned timeout clamped to the floor and ceiling, or the configured timeout
+     */
+    public Duration getTimeout(String waitName, Duration configured) {
+        ConfigSnapshot config = ConfigReader.snapshot();
+        if (!config.getBoolean("timeouts.adaptive", true)) {
+            return configured;
+        }
+        long[] sorted = getSortedSamples(waitName);
+        if (sorted.length < config.getInt("timeouts.minSamples", 5)) {
+            return configured;
+        }
+        long percentile = percentile(sorted, getPercentile());
+        long learned = percentile + percentile * config.getLong("timeouts.marginPercent", 100) / 100;
+        long floor = getBound("timeouts.floor", Timeouts.SHORT) * 1000L;
+        long ceiling = getBound("timeouts.ceiling", Timeouts.LONG) * 1000L;
+        return Duration.ofMillis(Math.max(floor, Math.min(ceiling, learned)));
+    }
+
+    /**
+     * Adds a successful wait's duration to the history.
+     */
+    public void record(String waitName, long millis) {
+        int limit = getSampleLimit();
+        Deque<Long> durations = samples.computeIfAbsent(waitName, key -> new ArrayDeque<>());
+        synchronized (durations) {
+            durations.addLast(millis);
+            while (durations.size() > limit) {
+                durations.removeFirst();
+            }
+        }
+        List<Long> newDurations = recorded.computeIfAbsent(waitName, key -> new ArrayList<>());
+        synchronized (newDurations) {
+            newDurations.add(millis);
+        }
+    }
+
+    /**
+     * Describes how a wait's duration compares with its history, e.g. for a failed wait.
+     *
+     * @return e.g. "Wait 'HomePage: ...' took 5003 ms; learned from 20 run(s): median 310 ms, p95 420 ms,
+     * max 450 ms; 11.9x the p95", with the configured timeouts.percentile
+     */
+    public String describe(String waitName, long millis) {
+        long[] sorted = getSortedSamples(waitName);
+        if (sorted.length == 0) {
+            return "Wait '" + waitName + "' took " + millis + " ms; no earlier durations recorded";
+        }
+        double percentile = getPercentile();
+        String label = percentile == Math.rint(percentile) ? "p" + (long) percentile : "p" + percentile;
+        long value = percentile(sorted, percentile);
+        return String.format(Locale.ROOT, "Wait '%s' took %d ms; learned from %d run(s): median %d ms, %s %d ms, "
+                        + "max %d ms; %.1fx the %s", waitName, millis, sorted.length, percentile(sorted, 50), label, value,
+                sorted[sorted.length - 1], millis / (double) Math.max(1, value), label);
+    }
+
+    /**
+     * Adds the durations recorded in this JVM to the history file. Parallel JVMs share the file, so it is re-read
+     * under a file lock and written to a temporary file that is moved into place.
+     */
+    public synchronized void save() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        int limit = getSampleLimit();
+        try {
+            Files.createDirectories(dir);
+            try (FileChannel lockChannel = FileChannel.open(dir.resolve(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Released when the channel is closed
+                lockChannel.lock();
+                Map<String, List<Long>> merged = read(file);
+                for (String waitName : new ArrayList<>(recorded.keySet())) {
+                    List<Long> newDurations = recorded.remove(waitName);
+                    List<Long> durations = merged.computeIfAbsent(waitName, key -> new ArrayList<>());
+                    synchronized (newDurations) {
+                        durations.addAll(newDurations);
+                    }
+                    if (durations.size() > limit) {
+                        durations.subList(0, durations.size() - limit).clear();
+                    }
+                }
+                Properties properties = new Properties();
+                for (Map.Entry<String, List<Long>> entry : merged.entrySet()) {
+                    properties.setProperty(entry.getKey(), join(entry.getValue()));
+                }
+                Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "Durations in ms of successful waits, oldest first: <wait>=<ms>,<ms>,...");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write wait duration history {}: {}", file, e.getMessage());
+        }
+    }
+
+    private long[] getSortedSamples(String waitName) {
+        Deque<Long> durations = samples.get(waitName);
+        if (durations == null) {
+            return new long[0];
+        }
+        long[] sorted;
+        synchronized (durations) {
+            sorted = durations.stream().mapToLong(Long::longValue).toArray();
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static Map<String, List<Long>> read(Path file) {
+        Map<String, List<Long>> history = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            for (String key : properties.stringPropertyNames()) {
+                List<Long> durations = new ArrayList<>();
+                for (String value : properties.getProperty(key).split(",")) {
+                    if (!value.isBlank()) {
+                        durations.add(Long.parseLong(value.trim()));
+                    }
+                }
+                history.put(key, durations);
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to read wait duration history {}: {}", file, e.getMessage());
+        }
+        return history;
+    }
+
+    private static String join(List<Long> durations) {
+        StringBuilder joined = new StringBuilder();
+        for (long millis : durations) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(millis);
+        }
+        return joined.toString();
+    }
+
+    /**
+     * @return "[origin browser]" of a wait in a real browser against the configured site, null if it is not learned
+     */
+    private static String getScope(WebDriver driver) {
+        ConfigSnapshot config = ConfigReader.snapshot();
+        if (!(driver instanceof HasCapabilities) || config.getBoolean("localSite.enabled", false)) {
+            return null;
+        }
+        URI baseUrl = config.getUri("baseUrl");
+        String browser = ((HasCapabilities) driver).getCapabilities().getBrowserName();
+        return "[" + baseUrl.getScheme() + "://" + baseUrl.getAuthority() + " " + browser + "]";
+    }
+
+    private static double getPercentile() {
+        return ConfigReader.snapshot().getDouble("timeouts.percentile", 95);
+    }
+
+    private static int getSampleLimit() {
+        return ConfigReader.snapshot().getInt("timeouts.samples", 50);
+    }
+
+    private static int getBound(String key, Timeouts defaultValue) {
+        return Timeouts.valueOf(ConfigReader.snapshot().get(key, defaultValue.name()).trim().toUpperCase(Locale.ROOT)).getSeconds();
+    }
+}
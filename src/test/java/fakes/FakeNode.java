@@ -0,0 +1,211 @@
+package fakes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A node of the in-memory DOM used by {@link FakeWebDriver}.
+ * Holds the tag name, id, classes, attributes, text and state (visibility, enabled, input value)
+ * of an element, plus an optional click handler used to script page transitions.
+ */
+public class FakeNode {
+    private final String tagName;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final Set<String> classes = new LinkedHashSet<>();
+    private final List<FakeNode> children = new ArrayList<>();
+    private FakeNode parent;
+    private String text = "";
+    private String value = "";
+    private boolean displayed = true;
+    private boolean enabled = true;
+    private Consumer<FakeNode> onClick;
+
+    public FakeNode(String tagName) {
+        this.tagName = tagName.toLowerCase();
+    }
+
+    /**
+     * Creates a node from a compact CSS-like description, e.g. "button#doLogin.btn.btn-primary".
+     */
+    public static FakeNode of(String description) {
+        String[] parts = description.split("(?=[#.])");
+        FakeNode node = new FakeNode(parts[0].isEmpty() ? "div" : parts[0]);
+        for (int i = parts[0].isEmpty() ? 0 : 1; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.startsWith("#")) {
+                node.id(part.substring(1));
+            } else if (part.startsWith(".")) {
+                node.classes.add(part.substring(1));
+            }
+        }
+        return node;
+    }
+
+    public FakeNode id(String id) {
+        attributes.put("id", id);
+        return this;
+    }
+
+    public FakeNode attribute(String name, String attributeValue) {
+        if ("class".equals(name)) {
+            classes.clear();
+            Collections.addAll(classes, attributeValue.trim().split("\\s+"));
+        } else {
+            attributes.put(name, attributeValue);
+        }
+        return this;
+    }
+
+    public FakeNode text(String nodeText) {
+        this.text = nodeText;
+        return this;
+    }
+
+    public FakeNode hidden() {
+        this.displayed = false;
+        return this;
+    }
+
+    public FakeNode disabled() {
+        this.enabled = false;
+        return this;
+    }
+
+    /**
+     * Registers a handler executed when the element is clicked, e.g. to navigate to another page.
+     */
+    public FakeNode onClick(Consumer<FakeNode> handler) {
+        this.onClick = handler;
+        return this;
+    }
+
+    /**
+     * Appends child nodes and returns this node, so that trees can be built fluently.
+     */
+    public FakeNode children(FakeNode... nodes) {
+        for (FakeNode node : nodes) {
+            node.parent = this;
+            children.add(node);
+        }
+        return this;
+    }
+
+    void click() {
+        if (onClick != null) {
+            onClick.accept(this);
+        }
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public String getId() {
+        return attributes.get("id");
+    }
+
+    public Set<String> getClasses() {
+        return classes;
+    }
+
+    public String getAttribute(String name) {
+        if ("class".equals(name)) {
+            return classes.isEmpty() ? null : String.join(" ", classes);
+        }
+        if ("value".equals(name)) {
+            return value;
+        }
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public List<FakeNode> getChildren() {
+        return children;
+    }
+
+    public FakeNode getParent() {
+        return parent;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String newValue) {
+        this.value = newValue;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setDisplayed(boolean isDisplayed) {
+        this.displayed = isDisplayed;
+    }
+
+    /**
+     * A node is displayed only if it and all of its ancestors are displayed.
+     */
+    public boolean isDisplayed() {
+        for (FakeNode node = this; node != null; node = node.parent) {
+            if (!node.displayed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Text of this node followed by the text of its displayed descendants.
+     */
+    public String getText() {
+        StringBuilder builder = new StringBuilder(text);
+        for (FakeNode child : children) {
+            if (child.displayed) {
+                String childText = child.getText();
+                if (!childText.isEmpty()) {
+                    builder.append(builder.length() == 0 ? "" : " ").append(childText);
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Serializes the subtree to HTML, used for page source.
+     */
+    public String toHtml() {
+        StringBuilder html = new StringBuilder("<").append(tagName);
+        attributes.forEach((name, attributeValue) -> html.append(' ').append(name).append("=\"").append(attributeValue).append('"'));
+        if (!classes.isEmpty()) {
+            html.append(" class=\"").append(String.join(" ", classes)).append('"');
+        }
+        if (!displayed) {
+            html.append(" style=\"display: none\"");
+        }
+        html.append('>').append(text);
+        for (FakeNode child : children) {
+            html.append(child.toHtml());
+        }
+        return html.append("</").append(tagName).append('>').toString();
+    }
+
+    /**
+     * Collects this node and all of its descendants in document order.
+     */
+    void collect(List<FakeNode> result) {
+        result.add(this);
+        for (FakeNode child : children) {
+            child.collect(result);
+        }
+    }
+}
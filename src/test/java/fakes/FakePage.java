@@ -0,0 +1,26 @@
+package fakes;
+
+/**
+ * A page of the in-memory site: a title and a document tree.
+ */
+public class FakePage {
+    private final String title;
+    private final FakeNode document;
+
+    /**
+     * @param title Page title returned by getTitle()
+     * @param body  Children of the body element
+     */
+    public FakePage(String title, FakeNode... body) {
+        this.title = title;
+        this.document = new FakeNode("html").children(new FakeNode("body").children(body));
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public FakeNode getDocument() {
+        return document;
+    }
+}
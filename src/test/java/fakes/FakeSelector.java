@@ -0,0 +1,124 @@
+package fakes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A minimal CSS selector engine for the in-memory DOM.
+ * Supports selector groups (","), descendant combinators (" ") and compound selectors made of
+ * a tag name, "#id", ".class" and "[attr]" / "[attr='value']" parts, which covers the locators
+ * used by the page objects (By.id, By.className, By.cssSelector, By.name, By.tagName).
+ */
+final class FakeSelector {
+
+    private static final Pattern PART = Pattern.compile(
+            "([a-zA-Z][\\w-]*|\\*)|#((?:\\\\.|[\\w-])+)|\\.((?:\\\\.|[\\w-])+)|\\[([\\w-]+)(?:=['\"]?([^'\"\\]]*)['\"]?)?]");
+
+    private FakeSelector() {
+    }
+
+    /**
+     * Returns all nodes below (and including) the root that match the selector, in document order.
+     */
+    static List<FakeNode> select(FakeNode root, String selector) {
+        List<FakeNode> all = new ArrayList<>();
+        root.collect(all);
+        List<List<Compound>> groups = new ArrayList<>();
+        for (String group : selector.split(",")) {
+            groups.add(parseGroup(group.trim()));
+        }
+        List<FakeNode> matches = new ArrayList<>();
+        for (FakeNode node : all) {
+            for (List<Compound> group : groups) {
+                if (matches(node, group, root)) {
+                    matches.add(node);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matches(FakeNode node, List<Compound> chain, FakeNode root) {
+        int index = chain.size() - 1;
+        if (!chain.get(index).matches(node)) {
+            return false;
+        }
+        FakeNode ancestor = node == root ? null : node.getParent();
+        for (index--; index >= 0; index--) {
+            while (ancestor != null && !chain.get(index).matches(ancestor)) {
+                ancestor = ancestor == root ? null : ancestor.getParent();
+            }
+            if (ancestor == null) {
+                return false;
+            }
+            ancestor = ancestor == root ? null : ancestor.getParent();
+        }
+        return true;
+    }
+
+    private static List<Compound> parseGroup(String group) {
+        List<Compound> chain = new ArrayList<>();
+        for (String compound : group.split("\\s+")) {
+            chain.add(parseCompound(compound));
+        }
+        return chain;
+    }
+
+    private static Compound parseCompound(String text) {
+        Compound compound = new Compound();
+        Matcher matcher = PART.matcher(text);
+        int position = 0;
+        while (position < text.length() && matcher.find(position) && matcher.start() == position) {
+            if (matcher.group(1) != null) {
+                compound.tag = matcher.group(1).toLowerCase();
+            } else if (matcher.group(2) != null) {
+                compound.id = unescape(matcher.group(2));
+            } else if (matcher.group(3) != null) {
+                compound.classes.add(unescape(matcher.group(3)));
+            } else {
+                compound.attributes.add(new String[]{matcher.group(4), matcher.group(5)});
+            }
+            position = matcher.end();
+        }
+        if (position != text.length()) {
+            throw new IllegalArgumentException("Unsupported selector for the fake DOM: " + text);
+        }
+        return compound;
+    }
+
+    private static String unescape(String value) {
+        return value.replaceAll("\\\\(.)", "$1");
+    }
+
+    /**
+     * A compound selector such as "button#doLogin.btn[type='submit']".
+     */
+    private static class Compound {
+        private String tag;
+        private String id;
+        private final List<String> classes = new ArrayList<>();
+        private final List<String[]> attributes = new ArrayList<>();
+
+        private boolean matches(FakeNode node) {
+            if (tag != null && !"*".equals(tag) && !tag.equals(node.getTagName())) {
+                return false;
+            }
+            if (id != null && !id.equals(node.getId())) {
+                return false;
+            }
+            if (!node.getClasses().containsAll(classes)) {
+                return false;
+            }
+            for (String[] attribute : attributes) {
+                String actual = node.getAttribute(attribute[0]);
+                if (actual == null || (attribute[1] != null && !attribute[1].equals(actual))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package fakes;
+
+import org.openqa.selenium.Cookie;
+import utils.ConfigReader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A scripted set of in-memory pages served by {@link FakeWebDriver}, keyed by URL.
+ * Pages are built on every navigation, so they can depend on the driver state (e.g. cookies),
+ * and click handlers can navigate to other pages to script transitions.
+ */
+public class FakeSite {
+    private final Map<String, Function<FakeWebDriver, FakePage>> pages = new HashMap<>();
+
+    /**
+     * Registers a page for the given URL.
+     *
+     * @param url     URL of the page (a trailing slash is ignored)
+     * @param builder Builds the page when it is opened
+     * @return this site, for chaining
+     */
+    public FakeSite page(String url, Function<FakeWebDriver, FakePage> builder) {
+        pages.put(normalize(url), builder);
+        return this;
+    }
+
+    /**
+     * Builds the page for the given URL, or an empty "Not Found" page for unknown URLs.
+     */
+    FakePage open(FakeWebDriver driver, String url) {
+        Function<FakeWebDriver, FakePage> builder = pages.get(normalize(url));
+        return builder != null ? builder.apply(driver) : new FakePage("Not Found");
+    }
+
+    /**
+     * Builds a fake of the restful-booker platform pages used by the page objects: the home page,
+     * the admin login form and the admin rooms page with its navbar. Logging in with the given
+     * credentials sets a session cookie and opens the rooms page; logging out returns to the home page.
+     *
+     * @param username Accepted admin username
+     * @param password Accepted admin password
+     * @return Site with URLs taken from config.properties
+     */
+    public static FakeSite restfulBooker(String username, String password) {
+        String title = ConfigReader.getConfigProperty("pageTitle");
+        String homeUrl = ConfigReader.getConfigProperty("baseUrl");
+        String adminUrl = ConfigReader.getConfigProperty("baseUrlAdmin");
+        String roomsUrl = ConfigReader.getConfigProperty("baseUrlAdminRooms", adminUrl + "/rooms");
+
+        Function<FakeWebDriver, FakePage> home = driver -> new FakePage(title,
+                FakeNode.of("a.btn.btn-primary.btn-lg").text("Book this room"));
+
+        Function<FakeWebDriver, FakePage> login = driver -> {
+            FakeNode usernameInput = FakeNode.of("input#username");
+            FakeNode passwordInput = FakeNode.of("input#password");
+            FakeNode error = FakeNode.of("div.alert.alert-danger").text("Invalid credentials").hidden();
+            FakeNode loginButton = FakeNode.of("button#doLogin.btn.btn-primary").text("Login").onClick(button -> {
+                if (username.equals(usernameInput.getValue()) && password.equals(passwordInput.getValue())) {
+                    driver.manage().addCookie(new Cookie("token", "fake-session-token", "/"));
+                    driver.navigateTo(roomsUrl);
+                } else {
+                    error.setDisplayed(true);
+                }
+            });
+            return new FakePage(title, FakeNode.of("div.card").children(usernameInput, passwordInput, loginButton, error));
+        };
+
+        Function<FakeWebDriver, FakePage> rooms = driver -> new FakePage(title,
+                FakeNode.of("nav.navbar.navbar-expand-md.navbar-dark.bg-dark.mb-4").children(
+                        FakeNode.of("button.btn.btn-outline-danger.my-2.my-sm-0").text("Logout").onClick(button -> {
+                            driver.manage().deleteCookieNamed("token");
+                            driver.navigateTo(homeUrl);
+                        })),
+                FakeNode.of("button#createRoom.btn.btn-outline-primary").text("Create"));
+
+        Function<FakeWebDriver, FakePage> admin = driver ->
+                driver.manage().getCookieNamed("token") != null ? rooms.apply(driver) : login.apply(driver);
+
+        return new FakeSite()
+                .page(homeUrl, home)
+                .page(adminUrl, admin)
+                .page(roomsUrl, admin);
+    }
+
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
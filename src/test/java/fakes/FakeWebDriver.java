@@ -0,0 +1,432 @@
+package fakes;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.Logs;
+import utils.Locators;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory WebDriver backed by a {@link FakeSite}, for exercising page objects without a browser.
+ *
+ * It understands the locator types used by the page objects (id, className, cssSelector, name, tagName),
+ * keeps cookies, tracks a single window and counts the commands it executed. Scripts are not run:
+ * executeScript throws {@link UnsupportedCommandException}, so script-based framework code takes its
+ * WebDriver fallback path, unless a handler registered with {@link #onScript(String, ScriptHandler)}
+ * answers the script in its place. Install it with {@code DriverManager.setDriver(new FakeWebDriver(site), timeout)}.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+    private static final String WINDOW_HANDLE = "fake-window";
+
+    private final FakeSite site;
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final Map<String, ScriptHandler> scripts = new LinkedHashMap<>();
+    private String currentUrl = "about:blank";
+    private FakePage currentPage = new FakePage("");
+    private long pageGeneration;
+    private long commandCount;
+    private boolean quit;
+
+    public FakeWebDriver(FakeSite site) {
+        this.site = site;
+    }
+
+    /**
+     * Loads the page for the URL, making all elements of the previous page stale.
+     * Used by {@link #get(String)} and by click handlers that script page transitions.
+     */
+    public void navigateTo(String url) {
+        checkOpen();
+        currentUrl = url;
+        pageGeneration++;
+        currentPage = "about:blank".equals(url) ? new FakePage("") : site.open(this, url);
+    }
+
+    /**
+     * Answers scripts containing the given fragment with the handler instead of rejecting them,
+     * so the script path of framework code can be exercised. The handler does in Java what the script
+     * would do in the browser; for async scripts, it returns the value passed to the callback.
+     *
+     * @param fragment Text identifying the script, e.g. a function name used only by that script
+     * @param handler  Evaluates the script against this driver
+     * @return this driver, for chaining
+     */
+    public FakeWebDriver onScript(String fragment, ScriptHandler handler) {
+        scripts.put(fragment, handler);
+        return this;
+    }
+
+    /**
+     * @return Number of commands executed since the driver was created or the counter was reset.
+     */
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    public void resetCommandCount() {
+        commandCount = 0;
+    }
+
+    public boolean isQuit() {
+        return quit;
+    }
+
+    long getPageGeneration() {
+        return pageGeneration;
+    }
+
+    void countCommand() {
+        commandCount++;
+    }
+
+    @Override
+    public void get(String url) {
+        countCommand();
+        navigateTo(url);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkOpen();
+        countCommand();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkOpen();
+        countCommand();
+        return currentPage.getTitle();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkOpen();
+        return findElements(currentPage.getDocument(), by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkOpen();
+        return findElement(currentPage.getDocument(), by);
+    }
+
+    List<WebElement> findElements(FakeNode root, By by) {
+        countCommand();
+        String css = Locators.toCss(by);
+        if (css == null) {
+            throw new UnsupportedCommandException("Locator is not supported by the fake driver: " + by);
+        }
+        List<WebElement> elements = new ArrayList<>();
+        for (FakeNode node : FakeSelector.select(root, css)) {
+            if (node != root) {
+                elements.add(new FakeWebElement(this, node));
+            }
+        }
+        return elements;
+    }
+
+    WebElement findElement(FakeNode root, By by) {
+        List<WebElement> elements = findElements(root, by);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Unable to locate element: " + by);
+        }
+        return elements.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkOpen();
+        countCommand();
+        return "<!DOCTYPE html>" + currentPage.getDocument().toHtml()
+                .replaceFirst("<html>", "<html><head><title>" + currentPage.getTitle() + "</title></head>");
+    }
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        checkOpen();
+        return Set.of(WINDOW_HANDLE);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkOpen();
+        return WINDOW_HANDLE;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new FakeTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new FakeNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        return new FakeOptions();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkOpen();
+        countCommand();
+        return getScriptHandler(script).run(this, Arrays.asList(args));
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        checkOpen();
+        countCommand();
+        return getScriptHandler(script).run(this, Arrays.asList(args));
+    }
+
+    private ScriptHandler getScriptHandler(String script) {
+        for (Map.Entry<String, ScriptHandler> entry : scripts.entrySet()) {
+            if (script.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        throw new UnsupportedCommandException("Scripts are not supported by the fake driver");
+    }
+
+    private void checkOpen() {
+        if (quit) {
+            throw new NoSuchWindowException("The fake driver has been quit");
+        }
+    }
+
+    /**
+     * Evaluates a script in place of the browser.
+     */
+    @FunctionalInterface
+    public interface ScriptHandler {
+        /**
+         * @param driver    Driver the script runs in
+         * @param arguments Script arguments, without the callback of async scripts
+         * @return Script result, converted as a browser would (e.g. objects as maps, arrays as lists)
+         */
+        Object run(FakeWebDriver driver, List<Object> arguments);
+    }
+
+    private class FakeOptions implements Options {
+        @Override
+        public void addCookie(Cookie cookie) {
+            countCommand();
+            cookies.put(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            countCommand();
+            cookies.remove(name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            deleteCookieNamed(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            countCommand();
+            cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            countCommand();
+            return new LinkedHashSet<>(cookies.values());
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            countCommand();
+            return cookies.get(name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new FakeTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            return new FakeWindow();
+        }
+
+        @Override
+        public Logs logs() {
+            throw new UnsupportedCommandException("Logs are not supported by the fake driver");
+        }
+    }
+
+    private class FakeNavigation implements Navigation {
+        @Override
+        public void back() {
+            throw new UnsupportedCommandException("History is not supported by the fake driver");
+        }
+
+        @Override
+        public void forward() {
+            throw new UnsupportedCommandException("History is not supported by the fake driver");
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            get(currentUrl);
+        }
+    }
+
+    private class FakeTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            throw new NoSuchFrameException("Frames are not supported by the fake driver");
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            throw new NoSuchFrameException("Frames are not supported by the fake driver");
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            throw new NoSuchFrameException("Frames are not supported by the fake driver");
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            if (!WINDOW_HANDLE.equals(nameOrHandle)) {
+                throw new NoSuchWindowException("No such window: " + nameOrHandle);
+            }
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            throw new UnsupportedCommandException("New windows are not supported by the fake driver");
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return findElement(By.tagName("body"));
+        }
+
+        @Override
+        public Alert alert() {
+            throw new UnsupportedCommandException("Alerts are not supported by the fake driver");
+        }
+    }
+
+    private static class FakeTimeouts implements Timeouts {
+        @Override
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            return this;
+        }
+
+        @Override
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+    }
+
+    private static class FakeWindow implements Window {
+        private Dimension size = new Dimension(1280, 800);
+        private Point position = new Point(0, 0);
+
+        @Override
+        public Dimension getSize() {
+            return size;
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+            this.size = targetSize;
+        }
+
+        @Override
+        public Point getPosition() {
+            return position;
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+            this.position = targetPosition;
+        }
+
+        @Override
+        public void maximize() {
+        }
+
+        @Override
+        public void minimize() {
+        }
+
+        @Override
+        public void fullscreen() {
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package fakes;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * WebElement backed by a {@link FakeNode} of the page currently loaded in a {@link FakeWebDriver}.
+ * Once the driver navigates to another page, the element becomes stale, like a real element.
+ */
+public class FakeWebElement implements WebElement {
+    private final FakeWebDriver driver;
+    private final FakeNode node;
+    private final long pageGeneration;
+
+    FakeWebElement(FakeWebDriver driver, FakeNode node) {
+        this.driver = driver;
+        this.node = node;
+        this.pageGeneration = driver.getPageGeneration();
+    }
+
+    public FakeNode getNode() {
+        return node;
+    }
+
+    @Override
+    public void click() {
+        checkInteractable();
+        driver.countCommand();
+        node.click();
+    }
+
+    @Override
+    public void submit() {
+        click();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        checkInteractable();
+        driver.countCommand();
+        StringBuilder value = new StringBuilder(node.getValue());
+        for (CharSequence keys : keysToSend) {
+            value.append(keys);
+        }
+        node.setValue(value.toString());
+    }
+
+    @Override
+    public void clear() {
+        checkInteractable();
+        driver.countCommand();
+        node.setValue("");
+    }
+
+    @Override
+    public String getTagName() {
+        checkAttached();
+        return node.getTagName();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        checkAttached();
+        return node.getAttribute(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        checkAttached();
+        return node.getAttribute("checked") != null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        checkAttached();
+        driver.countCommand();
+        return node.isEnabled();
+    }
+
+    @Override
+    public String getText() {
+        checkAttached();
+        driver.countCommand();
+        return node.isDisplayed() ? node.getText() : "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkAttached();
+        return driver.findElements(node, by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkAttached();
+        return driver.findElement(node, by);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        checkAttached();
+        driver.countCommand();
+        return node.isDisplayed();
+    }
+
+    @Override
+    public Point getLocation() {
+        checkAttached();
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        checkAttached();
+        return node.isDisplayed() ? new Dimension(100, 20) : new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        checkAttached();
+        return "display".equals(propertyName) && !node.isDisplayed() ? "none" : "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedCommandException("Screenshots are not supported by the fake driver");
+    }
+
+    @Override
+    public String toString() {
+        return "[FakeWebElement: " + node.getTagName() + (node.getId() != null ? "#" + node.getId() : "") + "]";
+    }
+
+    private void checkAttached() {
+        if (pageGeneration != driver.getPageGeneration()) {
+            throw new StaleElementReferenceException("Element belongs to a page that is no longer loaded: " + this);
+        }
+    }
+
+    private void checkInteractable() {
+        checkAttached();
+        if (!node.isDisplayed() || !node.isEnabled()) {
+            throw new ElementNotInteractableException("Element is not interactable: " + this);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package listeners;
+
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.TestResult;
+
+/**
+ * Tags Allure results of browser matrix runs with their browser: a "browser" parameter and tag, and a history id
+ * per browser, so runs of the same test on different browsers are not shown as retries of each other.
+ * Registered through META-INF/services/io.qameta.allure.listener.TestLifecycleListener.
+ */
+public class AllureBrowserLabels implements TestLifecycleListener {
+
+    @Override
+    public void beforeTestStop(TestResult result) {
+        String browser = BrowserMatrixListener.getCurrentBrowser();
+        if (browser == null) {
+            return;
+        }
+        result.getLabels().add(new Label().setName("tag").setValue(browser));
+        result.getParameters().add(new Parameter().setName("browser").setValue(browser));
+        if (result.getHistoryId() != null) {
+            result.setHistoryId(result.getHistoryId() + "-" + browser);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Merges the Allure results directories of several shards into one directory, so a single report covers the run.
+ *
+ * Result, container and attachment files have unique (UUID-based) names and are copied as they are.
+ * environment.properties files are combined; for any other file present in several shards
+ * (e.g. executor.json or categories.json) the first shard's copy is kept.
+ *
+ * Usage: {@code AllureResultsMerger <target dir> <shard results dir>...}
+ */
+public final class AllureResultsMerger {
+    private static final Logger logger = LoggerFactory.getLogger(AllureResultsMerger.class);
+
+    private static final String ENVIRONMENT_FILE = "environment.properties";
+
+    private AllureResultsMerger() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: AllureResultsMerger <target dir> <shard results dir>...");
+        }
+        List<Path> sources = Arrays.stream(args).skip(1).map(Paths::get).toList();
+        int copied = merge(Paths.get(args[0]), sources);
+        logger.info("Merged {} file(s) from {} shard result director(ies) into {}", copied, sources.size(), args[0]);
+    }
+
+    /**
+     * Copies the files of all source directories into the target directory.
+     *
+     * @param target  Merged results directory, created if missing
+     * @param sources Results directories of the shards; missing directories are skipped
+     * @return Number of files copied
+     */
+    public static int merge(Path target, List<Path> sources) {
+        int copied = 0;
+        try {
+            Files.createDirectories(target);
+            for (Path source : sources) {
+                if (!Files.isDirectory(source)) {
+                    logger.warn("Shard results directory {} does not exist, skipped", source);
+                    continue;
+                }
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(source)) {
+                    files = walk.filter(Files::isRegularFile).toList();
+                }
+                for (Path file : files) {
+                    Path destination = target.resolve(source.relativize(file).toString());
+                    if (ENVIRONMENT_FILE.equals(file.getFileName().toString()) && Files.exists(destination)) {
+                        mergeEnvironment(file, destination);
+                    } else if (!Files.exists(destination)) {
+                        Files.createDirectories(destination.getParent());
+                        Files.copy(file, destination);
+                        copied++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge Allure results into " + target, e);
+        }
+        return copied;
+    }
+
+    /**
+     * Adds the entries of the shard's environment.properties that the merged file does not have yet.
+     */
+    private static void mergeEnvironment(Path source, Path destination) throws IOException {
+        Properties merged = load(destination);
+        load(source).forEach(merged::putIfAbsent);
+        try (OutputStream out = Files.newOutputStream(destination)) {
+            merged.store(out, null);
+        }
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,139 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the same test classes on several browsers at once: {@code -Dbrowsers=chrome,firefox,edge}.
+ *
+ * Every {@code <test>} with a {@code browser} parameter is copied once per browser (named e.g.
+ * "SeleniumTests [firefox]"), keeping its own parallel mode, and the suite is switched to run its tests in parallel.
+ * The copies share the host, so the thread-count of the test and {@code driverPool.size} are divided between the
+ * browsers (at least one each). Each browser leases from its own {@code DriverManager} pool, so the wall-clock time
+ * approaches that of the slowest browser instead of the sum. Results are tagged with the browser in Allure
+ * ({@link AllureBrowserLabels}).
+ *
+ * Tests without a browser parameter (e.g. the unit tests) run once, in a child suite of their own. TestNG runs child
+ * suites before their parent, so those tests run one after another before the matrix starts and never next to it,
+ * since some of them override process-wide configuration.
+ */
+public class BrowserMatrixListener implements IAlterSuiteListener, IInvokedMethodListener {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserMatrixListener.class);
+
+    // Browser of the <test> the current thread runs, read when Allure writes the result
+    private static final ThreadLocal<String> currentBrowser = new ThreadLocal<>();
+
+    /**
+     * @return Browsers of the matrix from -Dbrowsers, empty if matrix mode is off
+     */
+    public static List<String> getMatrixBrowsers() {
+        List<String> browsers = new ArrayList<>();
+        for (String browser : System.getProperty("browsers", "").split(",")) {
+            if (!browser.isBlank()) {
+                browsers.add(browser.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return browsers;
+    }
+
+    /**
+     * @return Browser of the matrix test running on the current thread, or null outside matrix mode
+     */
+    public static String getCurrentBrowser() {
+        return currentBrowser.get();
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<String> browsers = getMatrixBrowsers();
+        if (browsers.isEmpty()) {
+            return;
+        }
+        if (System.getProperty("browser") != null) {
+            throw new IllegalStateException("-Dbrowser overrides every test's browser and cannot be combined with -Dbrowsers");
+        }
+        boolean matrixTests = false;
+        for (XmlSuite suite : suites) {
+            List<XmlTest> tests = new ArrayList<>();
+            List<XmlTest> testsWithoutBrowser = new ArrayList<>();
+            // XmlTest.clone() adds the copy to the suite, so iterate over the original tests only
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                // Keep the suite's settings on the test before the suite switches to parallel tests
+                test.setParallel(test.getParallel());
+                test.setThreadCount(test.getThreadCount());
+                if (test.getParameter("browser") == null) {
+                    testsWithoutBrowser.add(test);
+                    continue;
+                }
+                matrixTests = true;
+                for (String browser : browsers) {
+                    XmlTest copy = (XmlTest) test.clone();
+                    copy.setName(test.getName() + " [" + browser + "]");
+                    copy.setThreadCount(Math.max(1, test.getThreadCount() / browsers.size()));
+                    Map<String, String> parameters = new HashMap<>(test.getLocalParameters());
+                    parameters.put("browser", browser);
+                    copy.setParameters(parameters);
+                    tests.add(copy);
+                }
+            }
+            if (tests.isEmpty()) {
+                continue;
+            }
+            if (!testsWithoutBrowser.isEmpty()) {
+                suite.getChildSuites().add(createSequentialSuite(suite, testsWithoutBrowser));
+            }
+            suite.setTests(tests);
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(tests.size());
+            logger.info("Suite '{}' runs on {} in parallel: {} test(s)", suite.getName(), browsers, tests.size());
+        }
+        if (matrixTests) {
+            // Every browser gets its own pool, so each one only gets its share of the sessions
+            int poolSize = ConfigReader.snapshot().getInt("driverPool.size", 2);
+            int perBrowser = Math.max(1, poolSize / browsers.size());
+            ConfigReader.setConfigProperty("driverPool.size", String.valueOf(perBrowser));
+            logger.info("Driver pool size per browser: {} of {}", perBrowser, poolSize);
+        }
+    }
+
+    /**
+     * @return Child suite of the given suite running the given tests one after another
+     */
+    private static XmlSuite createSequentialSuite(XmlSuite parent, List<XmlTest> tests) {
+        XmlSuite child = new XmlSuite();
+        child.setName(parent.getName() + " [no browser]");
+        child.setParameters(parent.getParameters());
+        child.setParentSuite(parent);
+        child.setParallel(XmlSuite.ParallelMode.NONE);
+        for (XmlTest test : tests) {
+            test.setSuite(child);
+        }
+        child.setTests(tests);
+        logger.info("Suite '{}' runs before the browser matrix: {} test(s) without a browser", child.getName(), tests.size());
+        return child;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        String browser = testResult.getTestContext().getCurrentXmlTest().getParameter("browser");
+        if (browser != null && !getMatrixBrowsers().isEmpty()) {
+            currentBrowser.set(browser);
+        } else {
+            // Threads are shared between tests, so a test without a browser must not inherit one
+            currentBrowser.remove();
+        }
+    }
+}
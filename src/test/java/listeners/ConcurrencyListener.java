@@ -0,0 +1,38 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import utils.ConcurrencyGovernor;
+import utils.ConfigReader;
+
+import java.util.List;
+
+/**
+ * Replaces the fixed thread-count of parallel suites with the concurrency the {@link ConcurrencyGovernor}
+ * chooses for this host, when {@code concurrency.mode=adaptive}. The driver pool size follows the thread count
+ * unless {@code driverPool.size} is given as a system property.
+ */
+public class ConcurrencyListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConcurrencyGovernor.isAdaptive()) {
+            return;
+        }
+        int concurrency = ConcurrencyGovernor.chooseConcurrency();
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() == null || suite.getParallel() == XmlSuite.ParallelMode.NONE) {
+                continue;
+            }
+            logger.info("Suite '{}' runs with thread-count {} instead of {}", suite.getName(), concurrency,
+                    suite.getThreadCount());
+            suite.setThreadCount(concurrency);
+        }
+        if (System.getProperty("driverPool.size") == null) {
+            ConfigReader.setConfigProperty("driverPool.size", String.valueOf(concurrency));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ConfigReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DurationHistory stores how long tests took in previous runs, in a local properties file
+ * ({@code <class>.<method>=<millis>}; class-level configuration methods are stored as {@code <class>@<method>}).
+ *
+ * Each new measurement is blended with the stored value (exponentially weighted, newest run weighs 50%),
+ * so one slow run does not reorder the whole suite. Unknown tests are estimated with the mean of the known ones.
+ *
+ * Settings (system property > config.properties > default):
+ * - schedule.historyFile: duration store (default .test-history/test-durations.properties)
+ */
+public class DurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+
+    private static final double NEW_RUN_WEIGHT = 0.5;
+    private static final long DEFAULT_MILLIS = 1000;
+
+    private static DurationHistory shared;
+
+    private final Path file;
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    // Keys recorded in this JVM, the only ones written back on save()
+    private final Set<String> updated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param file Properties file to read and write; missing files start an empty history
+     */
+    public DurationHistory(Path file) {
+        this.file = file;
+        if (Files.isRegularFile(file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+                for (String key : properties.stringPropertyNames()) {
+                    durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+                }
+            } catch (IOException | NumberFormatException e) {
+                logger.warn("Failed to read test duration history {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return The history of the configured file, shared by all listeners of this JVM
+     */
+    public static synchronized DurationHistory getShared() {
+        if (shared == null) {
+            shared = new DurationHistory(Paths.get(ConfigReader.snapshot().get("schedule.historyFile",
+                    ".test-history/test-durations.properties")));
+        }
+        return shared;
+    }
+
+    /**
+     * @param key Test key, e.g. "tests.Test01.openAndVerifyTitle"
+     * @return Recorded duration, or the mean of all recorded durations if the test is unknown
+     */
+    public long estimate(String key) {
+        Long recorded = durations.get(key);
+        return recorded != null ? recorded : getMeanMillis();
+    }
+
+    /**
+     * @return Sum of the recorded durations of all keys starting with the prefix, 0 if there are none
+     */
+    public long sumRecorded(String prefix) {
+        long sum = 0;
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                sum += entry.getValue();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Blends a new measurement into the recorded duration of the test.
+     */
+    public void record(String key, long millis) {
+        updated.add(key);
+        durations.merge(key, millis, (old, now) -> Math.round(old * (1 - NEW_RUN_WEIGHT) + now * NEW_RUN_WEIGHT));
+    }
+
+    /**
+     * Writes the durations recorded in this JVM into the history file. Shards running in parallel JVMs share the file,
+     * so it is re-read under a file lock and only the recorded keys are replaced; the result is written to a
+     * temporary file and moved into place, so readers never see a half-written file.
+     */
+    public synchronized void save() {
+        if (updated.isEmpty()) {
+            return;
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        try {
+            Files.createDirectories(dir);
+            try (FileChannel lockChannel = FileChannel.open(dir.resolve(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Released when the channel is closed
+                lockChannel.lock();
+                Properties properties = new Properties();
+                if (Files.isRegularFile(file)) {
+                    try (InputStream in = Files.newInputStream(file)) {
+                        properties.load(in);
+                    }
+                }
+                for (String key : updated) {
+                    properties.setProperty(key, String.valueOf(durations.get(key)));
+                }
+                Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "Test durations in ms: <class>.<method> and <class>@<configuration method>");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write test duration history {}: {}", file, e.getMessage());
+        }
+    }
+
+    private long getMeanMillis() {
+        if (durations.isEmpty()) {
+            return DEFAULT_MILLIS;
+        }
+        long sum = 0;
+        for (long millis : durations.values()) {
+            sum += millis;
+        }
+        return sum / durations.size();
+    }
+}
@@ -0,0 +1,71 @@
+package listeners;
+
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import utils.DriverManager;
+import utils.FailureArtifacts;
+
+/**
+ * Attaches a screenshot, the page source and the browser console log to the Allure result of every failed test
+ * that has a driver (see {@link FailureArtifacts}). Only the raw artifacts are fetched on the test thread, so the
+ * driver lease is not held up by encoding and writing them; pending artifacts are written before the suite ends.
+ *
+ * Registered in testng.xml for the TestNG events and through
+ * META-INF/services/io.qameta.allure.listener.TestLifecycleListener to add the attachments to the Allure result.
+ */
+public class FailureArtifactListener implements ITestListener, ISuiteListener, TestLifecycleListener {
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifactListener.class);
+
+    // Capture of the current test; Allure may stop the result before or after the TestNG failure event
+    private static final ThreadLocal<FailureArtifacts.Capture> captures = new ThreadLocal<>();
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        captures.remove();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        captureOnce(result.getMethod().getMethodName());
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        captureOnce(result.getMethod().getMethodName());
+    }
+
+    @Override
+    public void beforeTestStop(TestResult result) {
+        if (result.getStatus() != Status.FAILED && result.getStatus() != Status.BROKEN) {
+            return;
+        }
+        FailureArtifacts.Capture capture = captureOnce(result.getName());
+        if (capture != null) {
+            result.getAttachments().addAll(FailureArtifacts.submit(capture));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FailureArtifacts.drain();
+    }
+
+    private static FailureArtifacts.Capture captureOnce(String testName) {
+        FailureArtifacts.Capture capture = captures.get();
+        if (capture == null && FailureArtifacts.isEnabled()) {
+            capture = FailureArtifacts.capture(DriverManager.getDriver());
+            if (capture != null) {
+                captures.set(capture);
+                logger.info("Captured failure artifacts of {} in {} ms", testName, capture.getCaptureMillis());
+            }
+        }
+        return capture;
+    }
+}
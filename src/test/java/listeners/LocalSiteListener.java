@@ -0,0 +1,57 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import site.LocalSite;
+import utils.AdminAuthService;
+import utils.ConfigReader;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Starts the {@link LocalSite} stand-in server before the suite and points baseUrl, baseUrlAdmin,
+ * baseUrlAdminRooms and authUrl at it, so runs do not depend on the public demo site.
+ *
+ * Settings (system property > config.properties > default):
+ * - localSite.enabled: start the stand-in server (default false; enabled by the local-site Maven profile)
+ * - localSite.port: port to listen on (default 0, any free port)
+ * - localSite.latencyMs: delay added to every response (default 0)
+ */
+public class LocalSiteListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(LocalSiteListener.class);
+
+    private static LocalSite site;
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        if (site != null || !ConfigReader.snapshot().getBoolean("localSite.enabled", false)) {
+            return;
+        }
+        site = LocalSite.start(
+                ConfigReader.snapshot().getInt("localSite.port", 0),
+                ConfigReader.getLocalProperty("username"),
+                ConfigReader.getLocalProperty("password"),
+                AdminAuthService.getCookieName(),
+                ConfigReader.snapshot().getDuration("localSite.latencyMs", ChronoUnit.MILLIS, Duration.ZERO),
+                Map.of("pageTitle", ConfigReader.getConfigProperty("pageTitle")));
+
+        String baseUrl = site.getBaseUrl();
+        ConfigReader.setConfigProperty("baseUrl", baseUrl);
+        ConfigReader.setConfigProperty("baseUrlAdmin", baseUrl + "admin");
+        ConfigReader.setConfigProperty("baseUrlAdminRooms", baseUrl + "admin/rooms");
+        ConfigReader.setConfigProperty("authUrl", baseUrl + "api/auth/login");
+        logger.info("Suite '{}' runs against the local site {}", suite.getName(), baseUrl);
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (site != null) {
+            site.stop();
+            site = null;
+        }
+    }
+}
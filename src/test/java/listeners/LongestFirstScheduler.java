@@ -0,0 +1,218 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IConfigurationListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders test classes longest-processing-time first, so the slowest classes start first and a slow class
+ * no longer stretches the end of a parallel run.
+ *
+ * Durations come from the {@link DurationHistory} of previous runs: a class is estimated as the sum of its test
+ * methods plus its recorded class-level configuration methods (e.g. leasing the browser in {@code setUp}).
+ * Within a class, methods keep their order apart from running after the methods they depend on
+ * ({@code dependsOnMethods}); only with {@code parallel="methods"}, where methods are the units handed to
+ * the threads, the longest ready method goes first. Durations of the current run are recorded and saved at suite end,
+ * where the predicted makespan (greedy LPT assignment to the thread count) is logged next to the actual one.
+ *
+ * Settings (system property > config.properties > default):
+ * - schedule.longestFirst: reorder the tests (default true); durations are recorded either way
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, ITestListener, IConfigurationListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(LongestFirstScheduler.class);
+
+    // Predicted makespan per suite (sum over its <test> blocks, which run one after another) and suite start times
+    private static final Map<String, Long> predictedMillis = new ConcurrentHashMap<>();
+    private static final Map<String, Long> startNanos = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.snapshot().getBoolean("schedule.longestFirst", true) || methods.isEmpty()) {
+            return methods;
+        }
+        DurationHistory history = DurationHistory.getShared();
+        Map<String, List<IMethodInstance>> byClass = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            byClass.computeIfAbsent(method.getMethod().getRealClass().getName(), name -> new ArrayList<>()).add(method);
+        }
+
+        XmlSuite.ParallelMode parallel = getParallelMode(context);
+        boolean methodsInParallel = parallel == XmlSuite.ParallelMode.METHODS;
+        List<ClassPlan> plans = new ArrayList<>();
+        for (Map.Entry<String, List<IMethodInstance>> entry : byClass.entrySet()) {
+            long millis = history.sumRecorded(entry.getKey() + "@");
+            for (IMethodInstance method : entry.getValue()) {
+                millis += estimate(method, history);
+            }
+            plans.add(new ClassPlan(entry.getKey(), orderWithinClass(entry.getValue(), history, methodsInParallel), millis));
+        }
+        plans.sort(Comparator.comparingLong((ClassPlan plan) -> plan.millis).reversed());
+
+        List<IMethodInstance> ordered = new ArrayList<>();
+        List<Long> units = new ArrayList<>();
+        for (ClassPlan plan : plans) {
+            ordered.addAll(plan.methods);
+            if (methodsInParallel) {
+                plan.methods.forEach(method -> units.add(estimate(method, history)));
+            } else {
+                units.add(plan.millis);
+            }
+        }
+
+        int workers = parallel == XmlSuite.ParallelMode.NONE ? 1 : context.getCurrentXmlTest().getThreadCount();
+        long predicted = predictMakespan(units, workers);
+        predictedMillis.merge(context.getSuite().getName(), predicted, Long::sum);
+        logger.info("Test '{}' ordered longest first: {} (predicted makespan {} s on {} thread(s))",
+                context.getName(), plans, predicted / 1000.0, workers);
+        return ordered;
+    }
+
+    /**
+     * Predicts the makespan of running the units in the given order, each on the worker that becomes free first.
+     *
+     * @param unitMillis Estimated duration of each unit (class or method) in start order
+     * @param workers    Number of threads
+     * @return Predicted wall-clock time in ms
+     */
+    public static long predictMakespan(List<Long> unitMillis, int workers) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            finishTimes.add(0L);
+        }
+        long makespan = 0;
+        for (long millis : unitMillis) {
+            long finish = finishTimes.poll() + millis;
+            finishTimes.add(finish);
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        startNanos.put(suite.getName(), System.nanoTime());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Long start = startNanos.remove(suite.getName());
+        Long predicted = predictedMillis.remove(suite.getName());
+        if (start != null && predicted != null) {
+            logger.info("Suite '{}': predicted makespan {} s, actual {} s", suite.getName(),
+                    predicted / 1000.0, (System.nanoTime() - start) / 1_000_000 / 1000.0);
+        }
+        DurationHistory.getShared().save();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(getKey(result.getMethod()), result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(getKey(result.getMethod()), result);
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        if (method.isBeforeClassConfiguration() || method.isAfterClassConfiguration()
+                || method.isBeforeMethodConfiguration() || method.isAfterMethodConfiguration()) {
+            record(result.getTestClass().getName() + "@" + method.getMethodName(), result);
+        }
+    }
+
+    private static void record(String key, ITestResult result) {
+        DurationHistory.getShared().record(key, result.getEndMillis() - result.getStartMillis());
+    }
+
+    /**
+     * Orders the methods of one class: dependencies first, then the longest ready method, or with
+     * {@code longestFirst} off the first ready method in the given order.
+     */
+    private static List<IMethodInstance> orderWithinClass(List<IMethodInstance> methods, DurationHistory history,
+                                                          boolean longestFirst) {
+        Map<String, IMethodInstance> byName = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            byName.put(method.getMethod().getQualifiedName(), method);
+        }
+        List<IMethodInstance> ordered = new ArrayList<>();
+        Set<String> done = new HashSet<>();
+        List<IMethodInstance> remaining = new ArrayList<>(methods);
+        while (!remaining.isEmpty()) {
+            IMethodInstance next = null;
+            for (IMethodInstance method : remaining) {
+                boolean ready = Arrays.stream(method.getMethod().getMethodsDependedUpon())
+                        .allMatch(dependency -> done.contains(dependency) || !byName.containsKey(dependency));
+                if (ready && (next == null || estimate(method, history) > estimate(next, history))) {
+                    next = method;
+                    if (!longestFirst) {
+                        break;
+                    }
+                }
+            }
+            if (next == null) {
+                // Dependency cycles are reported by TestNG itself; keep the remaining order
+                ordered.addAll(remaining);
+                break;
+            }
+            ordered.add(next);
+            done.add(next.getMethod().getQualifiedName());
+            remaining.remove(next);
+        }
+        return ordered;
+    }
+
+    private static long estimate(IMethodInstance method, DurationHistory history) {
+        return history.estimate(getKey(method.getMethod()));
+    }
+
+    private static String getKey(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    private static XmlSuite.ParallelMode getParallelMode(ITestContext context) {
+        XmlTest test = context.getCurrentXmlTest();
+        return test.getParallel() == null ? XmlSuite.ParallelMode.NONE : test.getParallel();
+    }
+
+    private static class ClassPlan {
+        private final String className;
+        private final List<IMethodInstance> methods;
+        private final long millis;
+
+        private ClassPlan(String className, List<IMethodInstance> methods, long millis) {
+            this.className = className;
+            this.methods = methods;
+            this.millis = millis;
+        }
+
+        @Override
+        public String toString() {
+            return className.substring(className.lastIndexOf('.') + 1) + "=" + millis + "ms";
+        }
+    }
+}
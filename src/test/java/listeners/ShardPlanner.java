@@ -0,0 +1,232 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import utils.ConfigReader;
+
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Splits the suite into N shards of about equal duration and keeps only the classes of one shard,
+ * selected with {@code -Dshard=i/N} (1-based, e.g. {@code -Dshard=2/3}). Without the property the suite is unchanged.
+ *
+ * Class durations come from the {@link DurationHistory} (classes without history are estimated with the mean
+ * duration per test method). Classes that depend on each other ({@code dependsOnGroups}, or
+ * {@code dependsOnMethods} naming a method of another class) are kept in the same shard.
+ * Groups of classes are assigned longest first to the shard with the least work so far.
+ *
+ * Every shard computes the plan independently, so all shards must see the same history. Shards rewrite
+ * schedule.historyFile when they end, so shards running at the same time plan from a frozen copy of it
+ * (schedule.planFile, as run-shards.sh does); on CI, restore the same .test-history for every node.
+ * The full plan is logged to make this easy to verify.
+ *
+ * Settings (system property > config.properties > default):
+ * - schedule.planFile: duration history the plan is computed from (default: the shared schedule.historyFile)
+ */
+public class ShardPlanner implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ShardPlanner.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String shard = System.getProperty("shard");
+        if (shard == null || shard.isBlank()) {
+            return;
+        }
+        int[] indexAndCount = parseShard(shard);
+        for (XmlSuite suite : suites) {
+            Map<String, Class<?>> classes = new LinkedHashMap<>();
+            for (XmlTest test : suite.getTests()) {
+                if (!test.getXmlPackages().isEmpty()) {
+                    logger.warn("Test '{}' selects packages, which are not sharded; they run in every shard", test.getName());
+                }
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    classes.put(xmlClass.getName(), xmlClass.getSupportClass());
+                }
+            }
+
+            List<Set<String>> plan = planShards(new ArrayList<>(classes.values()), indexAndCount[1], getPlanHistory());
+            Set<String> selected = plan.get(indexAndCount[0] - 1);
+            for (int i = 0; i < plan.size(); i++) {
+                logger.info("Suite '{}' shard {}/{}: {}", suite.getName(), i + 1, plan.size(), plan.get(i));
+            }
+
+            List<XmlTest> emptyTests = new ArrayList<>();
+            for (XmlTest test : suite.getTests()) {
+                test.getXmlClasses().removeIf(xmlClass -> !selected.contains(xmlClass.getName()));
+                if (test.getXmlClasses().isEmpty() && test.getXmlPackages().isEmpty()) {
+                    emptyTests.add(test);
+                }
+            }
+            suite.getTests().removeAll(emptyTests);
+            logger.info("Running shard {} of suite '{}' with {} class(es)", shard, suite.getName(), selected.size());
+        }
+    }
+
+    /**
+     * @return The frozen history given with schedule.planFile, or the shared history
+     */
+    private static DurationHistory getPlanHistory() {
+        String planFile = ConfigReader.snapshot().get("schedule.planFile", "");
+        if (planFile.isBlank()) {
+            return DurationHistory.getShared();
+        }
+        logger.info("Planning shards from the duration history {}", planFile);
+        return new DurationHistory(Paths.get(planFile.trim()));
+    }
+
+    /**
+     * Partitions the classes into balanced shards, keeping dependent classes together.
+     *
+     * @param classes Test classes of the suite
+     * @param shards  Number of shards
+     * @param history Recorded test durations
+     * @return Class names per shard, in shard order
+     */
+    public static List<Set<String>> planShards(List<Class<?>> classes, int shards, DurationHistory history) {
+        // Union-find over class names: dependent classes end up with the same root
+        Map<String, String> parent = new HashMap<>();
+        for (Class<?> testClass : classes) {
+            parent.put(testClass.getName(), testClass.getName());
+        }
+        Map<String, List<String>> classesByGroup = new HashMap<>();
+        for (Class<?> testClass : classes) {
+            for (Test test : getTestAnnotations(testClass)) {
+                for (String group : test.groups()) {
+                    classesByGroup.computeIfAbsent(group, key -> new ArrayList<>()).add(testClass.getName());
+                }
+            }
+        }
+        for (Class<?> testClass : classes) {
+            for (Test test : getTestAnnotations(testClass)) {
+                for (String group : test.dependsOnGroups()) {
+                    for (String other : classesByGroup.getOrDefault(group, List.of())) {
+                        union(parent, testClass.getName(), other);
+                    }
+                }
+                for (String method : test.dependsOnMethods()) {
+                    int dot = method.lastIndexOf('.');
+                    if (dot > 0 && parent.containsKey(method.substring(0, dot))) {
+                        union(parent, testClass.getName(), method.substring(0, dot));
+                    }
+                }
+            }
+        }
+
+        // Sorted maps keep the plan identical in every shard's JVM
+        Map<String, Set<String>> groups = new TreeMap<>();
+        Map<String, Long> groupMillis = new HashMap<>();
+        for (Class<?> testClass : classes) {
+            String root = find(parent, testClass.getName());
+            groups.computeIfAbsent(root, key -> new TreeSet<>()).add(testClass.getName());
+            groupMillis.merge(root, estimateClass(testClass, history), Long::sum);
+        }
+        List<String> roots = new ArrayList<>(groups.keySet());
+        roots.sort(Comparator.comparingLong((String root) -> groupMillis.get(root)).reversed());
+
+        List<Set<String>> plan = new ArrayList<>();
+        long[] load = new long[shards];
+        for (int i = 0; i < shards; i++) {
+            plan.add(new TreeSet<>());
+        }
+        for (String root : roots) {
+            int target = 0;
+            for (int i = 1; i < shards; i++) {
+                if (load[i] < load[target]) {
+                    target = i;
+                }
+            }
+            plan.get(target).addAll(groups.get(root));
+            load[target] += groupMillis.get(root);
+        }
+        return plan;
+    }
+
+    /**
+     * @param shard Shard in the form "i/N", 1 &lt;= i &lt;= N
+     * @return {i, N}
+     */
+    public static int[] parseShard(String shard) {
+        String[] parts = shard.trim().split("/");
+        try {
+            if (parts.length == 2) {
+                int index = Integer.parseInt(parts[0].trim());
+                int count = Integer.parseInt(parts[1].trim());
+                if (count >= 1 && index >= 1 && index <= count) {
+                    return new int[]{index, count};
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid shard '" + shard + "', expected i/N with 1 <= i <= N, e.g. 1/3");
+    }
+
+    /**
+     * Recorded duration of the class, or the mean test duration per test method if the class has no history.
+     */
+    private static long estimateClass(Class<?> testClass, DurationHistory history) {
+        long recorded = history.sumRecorded(testClass.getName() + ".") + history.sumRecorded(testClass.getName() + "@");
+        if (recorded > 0) {
+            return recorded;
+        }
+        long methods = 0;
+        for (Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                methods++;
+            }
+        }
+        return Math.max(1, methods) * history.estimate(testClass.getName() + ".");
+    }
+
+    private static List<Test> getTestAnnotations(Class<?> testClass) {
+        List<Test> annotations = new ArrayList<>();
+        for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            if (type.isAnnotationPresent(Test.class)) {
+                annotations.add(type.getAnnotation(Test.class));
+            }
+        }
+        for (Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                annotations.add(method.getAnnotation(Test.class));
+            }
+        }
+        return annotations;
+    }
+
+    private static String find(Map<String, String> parent, String name) {
+        String root = name;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        parent.put(name, root);
+        return root;
+    }
+
+    private static void union(Map<String, String> parent, String first, String second) {
+        String firstRoot = find(parent, first);
+        String secondRoot = find(parent, second);
+        if (!firstRoot.equals(secondRoot)) {
+            // The smaller name becomes the root, so the result does not depend on the order of the unions
+            if (firstRoot.compareTo(secondRoot) < 0) {
+                parent.put(secondRoot, firstRoot);
+            } else {
+                parent.put(firstRoot, secondRoot);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package listeners;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import utils.ConfigReader;
+import utils.RingBufferAppender;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps the log of each test in memory (see {@link RingBufferAppender}) and writes it only if the test does not pass:
+ * the log of a passed test is discarded, the log of a failed or skipped test is written to the console and
+ * attached to its Allure result as "Test log".
+ *
+ * Registered in testng.xml for the TestNG events and through
+ * META-INF/services/io.qameta.allure.listener.TestLifecycleListener for the Allure attachment.
+ *
+ * Settings (system property > config.properties > default):
+ * - logging.bufferTestLogs: buffer test logs, false writes every event right away (default true)
+ */
+public class TestLogListener implements ITestListener, TestLifecycleListener {
+    private static final Logger logger = LoggerFactory.getLogger(TestLogListener.class);
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        if (ConfigReader.snapshot().getBoolean("logging.bufferTestLogs", true)) {
+            RingBufferAppender.startCapture();
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        RingBufferAppender.discardCapture();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        flush(result, "failed");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        flush(result, "skipped");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        flush(result, "failed");
+    }
+
+    /**
+     * Attaches the buffered log to failed, broken and skipped results. Allure may stop the result before or after
+     * the TestNG events above, so the log is taken from the running capture or from the one just flushed.
+     */
+    @Override
+    public void beforeTestStop(TestResult result) {
+        if (result.getStatus() == null || result.getStatus() == Status.PASSED) {
+            return;
+        }
+        String log = RingBufferAppender.getCapturedLog();
+        if (log == null || log.isEmpty()) {
+            return;
+        }
+        String source = UUID.randomUUID() + "-attachment.log";
+        Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)));
+        result.getAttachments().add(new Attachment().setName("Test log").setType("text/plain").setSource(source));
+    }
+
+    private static void flush(ITestResult result, String outcome) {
+        if (!RingBufferAppender.isCapturing()) {
+            return;
+        }
+        // Logged before the flush, while the thread is still capturing, so it lands at the end of the replayed log
+        logger.info("Test {}.{} {}", result.getTestClass().getRealClass().getSimpleName(),
+                result.getMethod().getMethodName(), outcome);
+        int events = RingBufferAppender.flushCapture();
+        logger.debug("Wrote {} buffered log event(s) of the {} test", events, outcome);
+    }
+}
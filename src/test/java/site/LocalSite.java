@@ -0,0 +1,285 @@
+package site;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local stand-in for the restful-booker platform pages used by the tests, served by the JDK HTTP server.
+ *
+ * Serves recorded fixtures (src/test/resources/site) of the home page, the admin login page and the admin
+ * rooms page, plus a fake login endpoint ({@code /api/auth/login}, also {@code /auth/login}) that sets the
+ * session cookie for the given credentials and a logout endpoint ({@code /api/auth/logout}).
+ * The rooms page redirects to the login page without a valid session cookie.
+ *
+ * Every response can be delayed by a fixed latency, so waits can be benchmarked reproducibly.
+ */
+public class LocalSite {
+    private static final Logger logger = LoggerFactory.getLogger(LocalSite.class);
+
+    private static final Pattern JSON_FIELD = Pattern.compile("\"(username|password)\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String username;
+    private final String password;
+    private final String cookieName;
+    private final Duration latency;
+    private final Map<String, String> fixtures = new ConcurrentHashMap<>();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong loginCount = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private LocalSite(HttpServer server, String username, String password, String cookieName,
+                      Duration latency, Map<String, String> placeholders) {
+        this.server = server;
+        this.username = username;
+        this.password = password;
+        this.cookieName = cookieName;
+        this.latency = latency;
+        for (String name : List.of("index.html", "admin.html", "rooms.html")) {
+            fixtures.put(name, loadFixture(name, placeholders));
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable, "local-site-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts the stand-in server on the loopback interface.
+     *
+     * @param port         Port to listen on, 0 for any free port
+     * @param username     Accepted admin username
+     * @param password     Accepted admin password
+     * @param cookieName   Name of the session cookie set on login
+     * @param latency      Delay added to every response, {@link Duration#ZERO} for none
+     * @param placeholders Values for ${key} placeholders in the fixtures (e.g. pageTitle)
+     * @return The running server
+     */
+    public static LocalSite start(int port, String username, String password, String cookieName,
+                                  Duration latency, Map<String, String> placeholders) {
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start the local site on port " + port, e);
+        }
+        LocalSite site = new LocalSite(server, username, password, cookieName, latency, placeholders);
+        server.start();
+        logger.info("Local site started at {} (latency {} ms)", site.getBaseUrl(), latency.toMillis());
+        return site;
+    }
+
+    /**
+     * @return Base URL of the site with a trailing slash, e.g. http://localhost:54321/
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * @return Number of requests served so far
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return Highest number of requests handled at the same time so far
+     */
+    public int getMaxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * @return Number of successful logins so far
+     */
+    public long getLoginCount() {
+        return loginCount.get();
+    }
+
+    /**
+     * Stops the server and its handler threads.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Local site stopped after {} request(s)", requestCount.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            requestCount.incrementAndGet();
+            delay();
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            logger.debug("{} {}", method, path);
+
+            switch (path) {
+                case "/":
+                case "/index.html":
+                    sendFixture(exchange, "index.html");
+                    break;
+                case "/admin":
+                case "/admin/":
+                    sendFixture(exchange, "admin.html");
+                    break;
+                case "/admin/rooms":
+                    if (hasSession(exchange)) {
+                        sendFixture(exchange, "rooms.html");
+                    } else {
+                        exchange.getResponseHeaders().set("Location", "/admin");
+                        send(exchange, 302, "text/plain", "Found");
+                    }
+                    break;
+                case "/api/auth/login":
+                case "/auth/login":
+                    if ("POST".equals(method)) {
+                        login(exchange);
+                    } else {
+                        send(exchange, 405, "text/plain", "Method Not Allowed");
+                    }
+                    break;
+                case "/api/auth/logout":
+                case "/auth/logout":
+                    String token = getSessionCookie(exchange);
+                    if (token != null) {
+                        sessions.remove(token);
+                    }
+                    exchange.getResponseHeaders().add("Set-Cookie", cookieName + "=; Path=/; Max-Age=0");
+                    send(exchange, 200, "application/json", "{}");
+                    break;
+                case "/favicon.ico":
+                    // Same-origin page used to set the session cookie before opening an admin page
+                    // (authCookieBootstrapPath). Browsers do not commit a navigation to a 204, so it is a tiny HTML page
+                    send(exchange, 200, "text/html; charset=utf-8", "<!DOCTYPE html><html><head><title></title></head></html>");
+                    break;
+                default:
+                    send(exchange, 404, "text/plain", "Not Found");
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Accepts {"username": ..., "password": ...} and sets the session cookie when the credentials match.
+     */
+    private void login(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String user = null;
+        String pass = null;
+        Matcher matcher = JSON_FIELD.matcher(body);
+        while (matcher.find()) {
+            String value = matcher.group(2).replace("\\\"", "\"").replace("\\\\", "\\");
+            if ("username".equals(matcher.group(1))) {
+                user = value;
+            } else {
+                pass = value;
+            }
+        }
+
+        if (!username.equals(user) || !password.equals(pass)) {
+            send(exchange, 403, "application/json", "{\"error\":\"Invalid credentials\"}");
+            return;
+        }
+        String token = UUID.randomUUID().toString().replace("-", "");
+        sessions.add(token);
+        loginCount.incrementAndGet();
+        exchange.getResponseHeaders().add("Set-Cookie", cookieName + "=" + token + "; Path=/");
+        send(exchange, 200, "application/json", "{\"token\":\"" + token + "\"}");
+    }
+
+    private boolean hasSession(HttpExchange exchange) {
+        String token = getSessionCookie(exchange);
+        return token != null && sessions.contains(token);
+    }
+
+    private String getSessionCookie(HttpExchange exchange) {
+        String prefix = cookieName + "=";
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String trimmed = cookie.trim();
+                if (trimmed.startsWith(prefix)) {
+                    return trimmed.substring(prefix.length());
+                }
+            }
+        }
+        return null;
+    }
+
+    private void delay() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendFixture(HttpExchange exchange, String name) throws IOException {
+        send(exchange, 200, "text/html; charset=utf-8", fixtures.get(name));
+    }
+
+    /**
+     * Sends the response. Only 204 is sent without a body: a -1 length on other statuses makes the JDK server
+     * race the keep-alive connection, and clients reusing it intermittently receive no response.
+     */
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, status == 204 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static String loadFixture(String name, Map<String, String> placeholders) {
+        try (InputStream in = LocalSite.class.getResourceAsStream("/site/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing local site fixture: site/" + name);
+            }
+            String html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            for (Map.Entry<String, String> placeholder : placeholders.entrySet()) {
+                html = html.replace("${" + placeholder.getKey() + "}", placeholder.getValue());
+            }
+            return html;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read local site fixture: site/" + name, e);
+        }
+    }
+}
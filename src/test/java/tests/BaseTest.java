@@ -1,22 +1,32 @@
 package tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import elements.ElementCache;
+import io.qameta.allure.Allure;
+import listeners.BrowserMatrixListener;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.*;
+import utils.CommandMetrics;
+import utils.ConcurrencyGovernor;
+import utils.DriverBinaryResolver;
+import utils.DriverFactory;
 import utils.DriverManager;
+import utils.DriverProfile;
+import utils.ResourceInterceptor;
+import utils.TimeoutPolicy;
 import utils.Timeouts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * BaseTest serves as the foundation for all test classes.
  * It handles WebDriver initialization, setup, teardown, and thread-local access to WebDriver and WebDriverWait.
  * Supports multi-browser testing and parallel test execution using DriverManager and ThreadLocal.
+ * Browser sessions are leased from a pool in DriverManager and reused across test classes.
+ * The capability profile (e.g. "fast-headless", "full-fidelity") is selected with the
+ * {@code driverProfile} system property or testng.xml parameter.
  */
 public class BaseTest {
 
@@ -26,64 +36,89 @@ public class BaseTest {
     // SLF4J Logger for logging test lifecycle events
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
+    /**
+     * This method is executed once before the suite starts.
+     * It starts launching browser sessions in the background so test classes find warm drivers in the pool,
+     * while TestNG is still preparing the test classes. It does not wait for the browsers to start.
+     * In browser matrix runs (-Dbrowsers=...), the pool of every browser of the matrix is pre-warmed.
+     *
+     * @param browserFromXML Optional parameter passed from TestNG XML suite to specify browser type.
+     * @param profileFromXML Optional parameter passed from TestNG XML suite to specify the driver profile.
+     */
+    @BeforeSuite
+    @Parameters({"browser", "driverProfile"})
+    public void prewarmDrivers(@Optional String browserFromXML, @Optional String profileFromXML) {
+        List<String> browserNames = BrowserMatrixListener.getMatrixBrowsers();
+        if (browserNames.isEmpty()) {
+            browserNames = List.of(System.getProperty("browser", browserFromXML != null ? browserFromXML : "chrome").toLowerCase());
+        }
+        DriverProfile profile = DriverFactory.resolveProfile(profileFromXML);
+        for (String browserName : browserNames) {
+            int started = DriverManager.prewarm(browserName, profile, () -> createDriver(browserName, profile)).size();
+            logger.info("Started pre-warming {} '{}' driver(s) in the background.", started, browserName);
+        }
+    }
+
     /**
      * This method is executed once before any test methods in the class.
-     * It initializes the WebDriver for the current thread and registers it with DriverManager.
+     * It leases a WebDriver for the current thread from the DriverManager pool of the requested browser.
      *
      * @param browserFromXML Optional parameter passed from TestNG XML suite to specify browser type.
+     * @param profileFromXML Optional parameter passed from TestNG XML suite to specify the driver profile.
      */
     @BeforeClass
-    @Parameters("browser")
-    public void setUp(@Optional String browserFromXML) {
+    @Parameters({"browser", "driverProfile"})
+    public void setUp(@Optional String browserFromXML, @Optional String profileFromXML) {
         // Priority: system property > XML parameter > default "chrome"
         String browser = System.getProperty("browser", browserFromXML != null ? browserFromXML : "chrome");
-        logger.info("Starting setup for browser: {}", browser);
-
-        // Create the browser-specific WebDriver
-        WebDriver driver = createDriver(browser.toLowerCase());
+        DriverProfile profile = DriverFactory.resolveProfile(profileFromXML);
+        logger.info("Starting setup for browser: {} with profile: {}", browser, profile.getProfileName());
 
-        // Store the driver and wait into ThreadLocal via DriverManager
-        DriverManager.setDriver(driver, timeout);
-        logger.info("Driver initialized and set into DriverManager.");
+        // Lease a warm browser-specific WebDriver; a new one is launched only if the pool has none free
+        String browserName = browser.toLowerCase();
+        DriverManager.leaseDriver(browserName, profile, () -> createDriver(browserName, profile), timeout);
+        logger.info("Driver leased from pool and set into DriverManager.");
     }
 
     /**
-     * Factory method to create a WebDriver instance based on the provided browser name.
-     * Uses WebDriverManager to handle driver binaries automatically.
+     * Factory method to create a WebDriver instance based on the provided browser name and profile.
+     * Delegates to the DriverFactory registered for the browser.
      *
      * @param browser The name of the browser (e.g., "chrome", "firefox").
+     * @param profile The capability profile to apply (e.g., fast-headless).
      * @return A new WebDriver instance.
      */
-    private WebDriver createDriver(String browser) {
-        switch (browser) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                return new ChromeDriver();
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                return new FirefoxDriver();
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                return new EdgeDriver();
-            case "safari":
-                if (System.getProperty("os.name").toLowerCase().contains("mac")) {
-                    return new SafariDriver();
-                } else {
-                    throw new UnsupportedOperationException("Safari is only supported on macOS.");
-                }
-            default:
-                throw new IllegalArgumentException("Unsupported browser: " + browser);
-        }
+    private WebDriver createDriver(String browser, DriverProfile profile) {
+        return DriverFactory.forBrowser(browser).createDriver(profile);
     }
 
     /**
      * This method is executed once after all test methods in the class have run.
-     * It ensures that the WebDriver is properly quit and removed from ThreadLocal storage.
+     * It returns the WebDriver to the pool (after resetting it) and removes it from ThreadLocal storage.
      */
-    @AfterClass
+    @AfterClass(alwaysRun = true)
     public void tearDown() {
-        DriverManager.quitDriver();
-        logger.info("Driver quit via DriverManager.");
+        DriverManager.releaseDriver();
+        logger.info("Driver released to pool via DriverManager.");
+    }
+
+    /**
+     * This method is executed once after all tests in the suite have run.
+     * It quits all pooled browser sessions, logs the pool statistics and the element cache hit rate,
+     * saves the learned wait durations, and reports the per-command WebDriver latencies (also attached to the Allure report as CSV).
+     */
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPools() {
+        DriverManager.shutdownPools();
+        DriverBinaryResolver.logSummary();
+        ElementCache.logStats();
+        ResourceInterceptor.logSummary();
+        ConcurrencyGovernor.logSummary();
+        TimeoutPolicy.getShared().save();
+        if (CommandMetrics.isEnabled()) {
+            Allure.addAttachment("WebDriver command latency", "text/csv", CommandMetrics.report(), ".csv");
+        }
+        logger.info("All pooled drivers quit via DriverManager.");
     }
 
     /**
@@ -7,6 +7,8 @@ import org.testng.annotations.*;
 import pages.HomePage;
 import io.qameta.allure.*;
 import utils.ConfigReader;
+import utils.HttpPage;
+import utils.HttpPageCheck;
 
 public class Test01 extends BaseTest {
     // Initialize the logger for this class
@@ -28,4 +30,14 @@ public class Test01 extends BaseTest {
         // Log success
         logger.info("Test passed: Page title matches the expected value");
     }
+
+    // Browserless smoke check: fetches the home page over HTTP and verifies the <title> without a browser
+    @Test(groups = "smoke")
+    @Description("Verify the home page title over HTTP without a browser")
+    public void verifyTitleOverHttp() {
+        HttpPage homePage = HttpPageCheck.fetch("baseUrl");
+        logger.info("Fetched {} in {} ms", homePage, homePage.getFetchMillis());
+        Assert.assertEquals(homePage.getStatusCode(), 200, "Home page is not available");
+        Assert.assertEquals(homePage.getTitle(), ConfigReader.getConfigProperty("pageTitle"), "Page title does not match");
+    }
 }
@@ -5,11 +5,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import pages.AdminLoginPage;
 import pages.AdminRoomsPage;
 import pages.HomePage;
 import org.testng.asserts.SoftAssert;
 import utils.ConfigReader;
+import utils.DomSnapshot;
+import utils.HttpPage;
+import utils.HttpPageCheck;
 
 /**
  * Test02_03 - Includes multiple verifications for the Admin flow.
@@ -20,24 +22,36 @@ public class Test02_03 extends BaseTest {
     private AdminRoomsPage roomsPage;
 
     /**
-     * Test to open the Admin Login Page, perform login using credentials from config,
-     * and verify that the title of the Admin Rooms page is correct.
+     * Test to open the Admin Rooms Page with the cached admin session of the credentials from config
+     * (logging in once per run) and verify that the title of the Admin Rooms page is correct.
      */
     @Test()
     @Description("Verify that the valid title is displayed on the Admin Rooms page")
     public void openAndVerifyTitle() {
         SoftAssert softAssert = new SoftAssert();
-        AdminLoginPage adminLoginPage = new AdminLoginPage();
-        adminLoginPage.openPage();
-        roomsPage = adminLoginPage.loginWithValidAdminCredentialsFromConfig();
-        String pageTitle = roomsPage.getTitle();
-        logger.info("Page title after login: {}", pageTitle);
-        softAssert.assertEquals(pageTitle, ConfigReader.getConfigProperty("pageTitle"), "Page title does not match after login");
-        softAssert.assertTrue(roomsPage.isNavbarDisplayed(), "Navbar is not displayed");
+        roomsPage = new AdminRoomsPage().openAuthenticated();
+        // All checks run against one DOM snapshot instead of going back to the browser for each
+        DomSnapshot snapshot = roomsPage.snapshot();
+        logger.info("Page title after login: {}", snapshot.getTitle());
+        softAssert.assertEquals(snapshot.getTitle(), ConfigReader.getConfigProperty("pageTitle"), "Page title does not match after login");
+        softAssert.assertTrue(roomsPage.getNavbar().isDisplayedIn(snapshot), "Navbar is not displayed");
+        softAssert.assertTrue(roomsPage.isCreateRoomBtnDisplayedIn(snapshot), "Create Room button is not displayed");
         logger.info("Test passed: Page title matches expected value after login");
         softAssert.assertAll();
     }
 
+    /**
+     * Browserless smoke check: fetches the Admin Login Page over HTTP and verifies its title without a browser.
+     */
+    @Test(groups = "smoke")
+    @Description("Verify the Admin Login Page title over HTTP without a browser")
+    public void verifyAdminTitleOverHttp() {
+        HttpPage adminPage = HttpPageCheck.fetch("baseUrlAdmin");
+        logger.info("Fetched {} in {} ms", adminPage, adminPage.getFetchMillis());
+        Assert.assertEquals(adminPage.getStatusCode(), 200, "Admin Login Page is not available");
+        Assert.assertEquals(adminPage.getTitle(), ConfigReader.getConfigProperty("pageTitle"), "Admin page title does not match");
+    }
+
     /**
      * Test to log out from Admin and verify the HomePage title after logout.
      */
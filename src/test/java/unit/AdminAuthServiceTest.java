@@ -0,0 +1,146 @@
+package unit;
+
+import fakes.FakeNode;
+import fakes.FakePage;
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pages.AdminRoomsPage;
+import site.LocalSite;
+import utils.AdminAuthService;
+import utils.ConfigReader;
+import utils.DriverManager;
+import utils.Timeouts;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AdminAuthServiceTest - Checks {@link AdminRoomsPage#openAuthenticated()} against the local stand-in server:
+ * the session token is obtained over HTTP once, injected as a cookie, and dropped when the server rejects it.
+ * The in-memory driver asks the local site whether its session cookie is accepted when the rooms page is opened.
+ * The URLs of the configuration point at the local site while this class runs, so the UnitTests in testng.xml
+ * run one class at a time.
+ */
+public class AdminAuthServiceTest {
+
+    private static final List<String> URL_KEYS = List.of("baseUrl", "baseUrlAdmin", "baseUrlAdminRooms", "authUrl");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Map<String, String> originalUrls = new HashMap<>();
+    private LocalSite site;
+    private String username;
+    private String password;
+
+    @BeforeClass
+    public void startSite() {
+        username = ConfigReader.getLocalProperty("username");
+        password = ConfigReader.getLocalProperty("password");
+        site = LocalSite.start(0, username, password, AdminAuthService.getCookieName(), Duration.ZERO,
+                Map.of("pageTitle", ConfigReader.getConfigProperty("pageTitle")));
+        for (String key : URL_KEYS) {
+            originalUrls.put(key, ConfigReader.getConfigProperty(key));
+        }
+        ConfigReader.setConfigProperty("baseUrl", site.getBaseUrl());
+        ConfigReader.setConfigProperty("baseUrlAdmin", site.getBaseUrl() + "admin");
+        ConfigReader.setConfigProperty("baseUrlAdminRooms", site.getBaseUrl() + "admin/rooms");
+        ConfigReader.setConfigProperty("authUrl", site.getBaseUrl() + "api/auth/login");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopSite() {
+        originalUrls.forEach(ConfigReader::setConfigProperty);
+        site.stop();
+    }
+
+    @BeforeMethod
+    public void installFakeDriver() {
+        AdminAuthService.invalidate(username, password);
+        DriverManager.setDriver(new FakeWebDriver(localSiteBacked()), Timeouts.SHORT);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeFakeDriver() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    public void cachedTokenIsInjectedWithoutLoggingInAgain() {
+        long logins = site.getLoginCount();
+        new AdminRoomsPage().openAuthenticated();
+        Cookie first = DriverManager.getDriver().manage().getCookieNamed(AdminAuthService.getCookieName());
+        Assert.assertNotNull(first, "Session cookie is not injected");
+
+        // A new browser session starts without cookies but reuses the cached token
+        DriverManager.quitDriver();
+        DriverManager.setDriver(new FakeWebDriver(localSiteBacked()), Timeouts.SHORT);
+        new AdminRoomsPage().openAuthenticated();
+        Cookie second = DriverManager.getDriver().manage().getCookieNamed(AdminAuthService.getCookieName());
+
+        Assert.assertEquals(second.getValue(), first.getValue(), "Cached token was not reused");
+        Assert.assertEquals(site.getLoginCount(), logins + 1, "Logged in again despite a cached token");
+    }
+
+    @Test
+    public void rejectedTokenIsInvalidatedAndReplaced() throws Exception {
+        new AdminRoomsPage().openAuthenticated();
+        String token = DriverManager.getDriver().manage().getCookieNamed(AdminAuthService.getCookieName()).getValue();
+        long logins = site.getLoginCount();
+        logout(token);
+
+        Assert.assertThrows(TimeoutException.class, () -> new AdminRoomsPage().openAuthenticated());
+        new AdminRoomsPage().openAuthenticated();
+        String renewed = DriverManager.getDriver().manage().getCookieNamed(AdminAuthService.getCookieName()).getValue();
+
+        Assert.assertNotEquals(renewed, token, "Rejected token was injected again");
+        Assert.assertEquals(site.getLoginCount(), logins + 1, "Rejected token did not lead to a new login");
+    }
+
+    /**
+     * Site whose rooms page shows the 'Create Room' button only if the local site accepts the session cookie.
+     */
+    private FakeSite localSiteBacked() {
+        String title = ConfigReader.getConfigProperty("pageTitle");
+        return new FakeSite()
+                .page(site.getBaseUrl() + "favicon.ico", driver -> new FakePage(""))
+                .page(site.getBaseUrl() + "admin/rooms", driver -> {
+                    Cookie session = driver.manage().getCookieNamed(AdminAuthService.getCookieName());
+                    return session != null && isAccepted(session)
+                            ? new FakePage(title, FakeNode.of("button#createRoom.btn.btn-outline-primary").text("Create"))
+                            : new FakePage(title, FakeNode.of("button#doLogin.btn.btn-primary").text("Login"));
+                });
+    }
+
+    private boolean isAccepted(Cookie session) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(site.getBaseUrl() + "admin/rooms"))
+                .header("Cookie", session.getName() + "=" + session.getValue())
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Local site is not reachable", e);
+        }
+    }
+
+    private void logout(String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(site.getBaseUrl() + "api/auth/logout"))
+                .header("Cookie", AdminAuthService.getCookieName() + "=" + token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,122 @@
+package unit;
+
+import listeners.BrowserMatrixListener;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import utils.ConfigReader;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BrowserMatrixListenerTest - Checks how -Dbrowsers copies the browser tests of a suite
+ * and splits the threads and driver pool between the browsers.
+ */
+public class BrowserMatrixListenerTest {
+
+    private String poolSize;
+    private String browsers;
+    private String browser;
+
+    @BeforeMethod
+    public void saveSettings() {
+        poolSize = ConfigReader.getConfigProperty("driverPool.size");
+        browsers = System.getProperty("browsers");
+        browser = System.getProperty("browser");
+        ConfigReader.setConfigProperty("driverPool.size", "4");
+        // The suite itself may run with -Dbrowsers or -Dbrowser
+        System.clearProperty("browsers");
+        System.clearProperty("browser");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreSettings() {
+        restoreProperty("browsers", browsers);
+        restoreProperty("browser", browser);
+        ConfigReader.setConfigProperty("driverPool.size", poolSize);
+    }
+
+    @Test
+    public void browserTestsAreCopiedPerBrowserWithTheirShareOfThreads() {
+        XmlSuite suite = suite();
+        System.setProperty("browsers", "chrome,Firefox");
+
+        new BrowserMatrixListener().alter(List.of(suite));
+
+        List<XmlTest> tests = suite.getTests();
+        Assert.assertEquals(tests.size(), 2);
+        Assert.assertEquals(tests.get(0).getName(), "SeleniumTests [chrome]");
+        Assert.assertEquals(tests.get(1).getName(), "SeleniumTests [firefox]");
+        Assert.assertEquals(tests.get(0).getParameter("browser"), "chrome");
+        Assert.assertEquals(tests.get(1).getParameter("browser"), "firefox");
+        Assert.assertEquals(tests.get(1).getParameter("baseUrl"), "http://localhost/", "Other parameters are not kept");
+        Assert.assertEquals(tests.get(1).getXmlClasses().get(0).getName(), "tests.Test01");
+        Assert.assertEquals(tests.get(0).getThreadCount(), 2, "Browser copy keeps the full thread-count");
+        Assert.assertEquals(tests.get(1).getParallel(), XmlSuite.ParallelMode.CLASSES);
+
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.TESTS);
+        Assert.assertEquals(suite.getThreadCount(), 2);
+
+        // Tests without a browser run in a child suite, which TestNG runs before the matrix
+        Assert.assertEquals(suite.getChildSuites().size(), 1);
+        XmlSuite sequential = suite.getChildSuites().get(0);
+        Assert.assertEquals(sequential.getParallel(), XmlSuite.ParallelMode.NONE, "Tests without a browser run in parallel");
+        Assert.assertSame(sequential.getParentSuite(), suite);
+        XmlTest unitTests = sequential.getTests().get(0);
+        Assert.assertEquals(unitTests.getName(), "UnitTests");
+        Assert.assertSame(unitTests.getSuite(), sequential);
+        Assert.assertNull(unitTests.getParameter("browser"));
+        Assert.assertEquals(unitTests.getThreadCount(), 4, "Test without a browser lost its thread-count");
+        Assert.assertEquals(ConfigReader.snapshot().getInt("driverPool.size", 0), 2, "Driver pool is not split between the browsers");
+    }
+
+    @Test
+    public void suiteIsUnchangedWithoutBrowsers() {
+        XmlSuite suite = suite();
+
+        new BrowserMatrixListener().alter(List.of(suite));
+
+        Assert.assertEquals(suite.getTests().size(), 2);
+        Assert.assertTrue(suite.getChildSuites().isEmpty());
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.CLASSES);
+        Assert.assertEquals(ConfigReader.snapshot().getInt("driverPool.size", 0), 4);
+    }
+
+    @Test
+    public void singleBrowserOverrideIsRejected() {
+        System.setProperty("browsers", "chrome,firefox");
+        System.setProperty("browser", "edge");
+
+        Assert.expectThrows(IllegalStateException.class, () -> new BrowserMatrixListener().alter(List.of(suite())));
+    }
+
+    private static void restoreProperty(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static XmlSuite suite() {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("SeleniumTestSuite");
+        suite.setParallel(XmlSuite.ParallelMode.CLASSES);
+        suite.setThreadCount(4);
+
+        XmlTest browserTests = new XmlTest(suite);
+        browserTests.setName("SeleniumTests");
+        browserTests.setParameters(Map.of("browser", "chrome", "baseUrl", "http://localhost/"));
+        browserTests.setXmlClasses(List.of(new XmlClass("tests.Test01", false)));
+
+        XmlTest unitTests = new XmlTest(suite);
+        unitTests.setName("UnitTests");
+        unitTests.setXmlClasses(List.of(new XmlClass("unit.ShardPlannerTest", false)));
+        return suite;
+    }
+}
@@ -0,0 +1,59 @@
+package unit;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import fakes.FakeWebElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.CommandMetrics;
+import utils.ConfigReader;
+import utils.LatencyHistogram;
+
+/**
+ * CommandMetricsTest - Checks that an instrumented driver times the commands on itself and on its elements,
+ * and that the driver only ever receives its own objects.
+ */
+public class CommandMetricsTest {
+
+    @Test
+    public void commandsOnDriverAndElementsAreTimed() {
+        FakeWebDriver fake = new FakeWebDriver(FakeSite.restfulBooker("admin", "password"));
+        WebDriver driver = CommandMetrics.instrument(fake);
+        long gets = count("get");
+        long finds = count("findElement");
+        long texts = count("getText");
+
+        driver.get(ConfigReader.getConfigProperty("baseUrlAdmin"));
+        WebElement button = driver.findElement(By.id("doLogin"));
+        Assert.assertEquals(button.getText(), "Login");
+
+        Assert.assertEquals(count("get"), gets + 1);
+        Assert.assertEquals(count("findElement"), finds + 1);
+        Assert.assertEquals(count("getText"), texts + 1);
+        WebElement element = ((WrapsElement) button).getWrappedElement();
+        Assert.assertTrue(element instanceof FakeWebElement, "Element is not unwrapped");
+        Assert.assertTrue(button.equals(element), "Proxy is not equal to the element it wraps");
+    }
+
+    @Test
+    public void proxiedElementsAreUnwrappedInArguments() {
+        FakeWebDriver fake = new FakeWebDriver(FakeSite.restfulBooker("admin", "password"));
+        fake.onScript("probe", (driver, arguments) -> arguments.get(0) instanceof FakeWebElement);
+        WebDriver driver = CommandMetrics.instrument(fake);
+        driver.get(ConfigReader.getConfigProperty("baseUrlAdmin"));
+        WebElement button = driver.findElement(By.id("doLogin"));
+
+        Assert.assertEquals(((JavascriptExecutor) driver).executeScript("probe", button), true,
+                "Script received the proxy instead of the driver's element");
+    }
+
+    private static long count(String command) {
+        LatencyHistogram histogram = CommandMetrics.aggregate().get(command);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+}
@@ -0,0 +1,28 @@
+package unit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.ConcurrencyGovernor;
+import utils.ConcurrencyGovernor.HostLoad;
+
+/**
+ * ConcurrencyGovernorTest - Checks how the governor sizes parallelism and detects a saturated host
+ * (with the default budgets: 1 core per browser, 1024 MB reserve, 90% CPU load, at most 8 browsers).
+ */
+public class ConcurrencyGovernorTest {
+
+    @Test
+    public void concurrencyIsLimitedByCoresMemoryAndMaximum() {
+        Assert.assertEquals(ConcurrencyGovernor.computeConcurrency(4, 16_384, 500), 4, "Not limited by cores");
+        Assert.assertEquals(ConcurrencyGovernor.computeConcurrency(16, 3_024, 500), 4, "Not limited by memory");
+        Assert.assertEquals(ConcurrencyGovernor.computeConcurrency(32, 65_536, 500), 8, "Not limited by concurrency.max");
+        Assert.assertEquals(ConcurrencyGovernor.computeConcurrency(1, 512, 500), 1, "Small hosts must still run tests");
+    }
+
+    @Test
+    public void hostIsSaturatedByCpuLoadOrMissingMemory() {
+        Assert.assertFalse(ConcurrencyGovernor.isSaturated(new HostLoad(0.5, 4_096, 1_000), 500));
+        Assert.assertTrue(ConcurrencyGovernor.isSaturated(new HostLoad(0.95, 4_096, 1_000), 500));
+        Assert.assertTrue(ConcurrencyGovernor.isSaturated(new HostLoad(0.5, 1_400, 1_000), 500));
+    }
+}
@@ -0,0 +1,93 @@
+package unit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.ConfigReader;
+import utils.ConfigSnapshot;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * ConfigSnapshotTest - Checks the layering of configuration files, environment variables, system properties
+ * and runtime overrides, and the typed lookups of a snapshot.
+ */
+public class ConfigSnapshotTest {
+
+    @Test
+    public void laterLayersOverrideEarlierOnes() throws IOException {
+        Path dir = Files.createTempDirectory("config");
+        URL base = write(dir.resolve("config.properties"), "baseUrl=https://base/\ntimeout=5\nmode=warn\nretries=1\n");
+        URL profile = write(dir.resolve("config-ci.properties"), "timeout=10\n");
+        URL local = write(dir.resolve("local.properties"), "password=from-file\n");
+        Properties system = new Properties();
+        system.setProperty("retries", "3");
+        system.setProperty("unknown.key", "from-system");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.load(List.of(base, profile), List.of(local),
+                Map.of("CONFIG_MODE", "fail", "CONFIG_PASSWORD", "from-env", "CONFIG_RETRIES", "2",
+                        "CONFIG_BUDGET_MODE", "fail", "PATH", "/usr/bin"),
+                system, Map.of("baseUrl", "http://localhost:8080/"));
+
+        Assert.assertEquals(snapshot.getInt("timeout", 0), 10, "Profile file must override config.properties");
+        Assert.assertEquals(snapshot.get("mode"), "fail", "Environment variable must override the files");
+        Assert.assertEquals(snapshot.getInt("retries", 0), 3, "System property must override the environment");
+        Assert.assertEquals(snapshot.get("baseUrl"), "http://localhost:8080/", "Runtime override must win");
+        Assert.assertEquals(snapshot.getSecret("password"), "from-env");
+        Assert.assertEquals(snapshot.get("unknown.key"), "from-system", "System properties must apply to every key");
+        Assert.assertEquals(snapshot.get("budget.mode"), "fail", "Environment variables must apply to every key");
+        Assert.assertNull(snapshot.get("PATH"), "Only prefixed environment variables are settings");
+        Assert.assertNull(snapshot.get("password"), "Secrets must not be visible as config settings");
+    }
+
+    @Test
+    public void runtimeOverridesBeatSystemPropertiesOfUndefinedKeys() {
+        Properties system = new Properties();
+        system.setProperty("driverPool.size", "6");
+        ConfigSnapshot snapshot = ConfigSnapshot.load(List.of(), List.of(), Map.of(), system, Map.of());
+
+        Assert.assertEquals(snapshot.getInt("driverPool.size", 2), 6);
+        Assert.assertEquals(snapshot.with("driverPool.size", "3").getInt("driverPool.size", 2), 3);
+    }
+
+    @Test
+    public void typedValuesAreParsedAndValidated() throws IOException {
+        Path dir = Files.createTempDirectory("config");
+        URL file = write(dir.resolve("config.properties"),
+                "ttlMinutes=30\nwait=500ms\niso=PT2M\nflag=TRUE\nurl=https://example.org/admin\nbroken=maybe\n");
+        ConfigSnapshot snapshot = ConfigSnapshot.load(List.of(file), List.of(), Map.of(), new Properties(), Map.of());
+
+        Assert.assertEquals(snapshot.getDuration("ttlMinutes", ChronoUnit.MINUTES, null), Duration.ofMinutes(30));
+        Assert.assertEquals(snapshot.getDuration("wait", ChronoUnit.SECONDS, null), Duration.ofMillis(500));
+        Assert.assertEquals(snapshot.getDuration("iso", ChronoUnit.SECONDS, null), Duration.ofMinutes(2));
+        Assert.assertEquals(snapshot.getDuration("missing", ChronoUnit.SECONDS, Duration.ZERO), Duration.ZERO);
+        Assert.assertTrue(snapshot.getBoolean("flag", false));
+        Assert.assertEquals(snapshot.getUri("url"), URI.create("https://example.org/admin"));
+        Assert.assertSame(snapshot.getUri("url"), snapshot.getUri("url"), "Parsed value must be cached");
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+                () -> snapshot.getBoolean("broken", false));
+        Assert.assertTrue(error.getMessage().contains("broken='maybe'"), error.getMessage());
+    }
+
+    @Test
+    public void runtimeOverridesSurviveReload() {
+        ConfigSnapshot before = ConfigReader.snapshot();
+        ConfigReader.setConfigProperty("unit.overriddenKey", "overridden");
+        Assert.assertNull(before.get("unit.overriddenKey"), "Snapshots must not change");
+        ConfigReader.reload();
+        Assert.assertEquals(ConfigReader.getConfigProperty("unit.overriddenKey"), "overridden");
+    }
+
+    private static URL write(Path file, String content) throws IOException {
+        Files.writeString(file, content);
+        return file.toUri().toURL();
+    }
+}
@@ -0,0 +1,72 @@
+package unit;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import utils.DomSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DomSnapshotTest - Checks how snapshots taken with the snapshot script are read. The in-memory driver answers
+ * the script with HTML as the browser would return it, with the computed visibility flags already set.
+ */
+public class DomSnapshotTest {
+
+    private final Map<String, String> htmlBySelector = new HashMap<>();
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void installFakeDriver() {
+        htmlBySelector.clear();
+        driver = new FakeWebDriver(new FakeSite()).onScript("cloneNode", (fake, arguments) -> {
+            String selector = (String) arguments.get(1);
+            String html = htmlBySelector.get(selector);
+            return html == null ? null : Map.of("title", "Rooms",
+                    "tag", html.substring(1, html.indexOf(' ')), "html", html);
+        });
+    }
+
+    @Test
+    public void visibleElementInsideHiddenParentIsDisplayed() {
+        // visibility: hidden on the parent, visibility: visible on the child
+        htmlBySelector.put("#panel", "<div id=\"panel\" data-snapshot-visible=\"false\">Hidden "
+                + "<span id=\"shown\" data-snapshot-visible=\"true\">Shown</span></div>");
+
+        DomSnapshot snapshot = DomSnapshot.capture(driver, By.id("panel"));
+
+        Assert.assertFalse(snapshot.isDisplayed(By.id("panel")), "Hidden parent is displayed");
+        Assert.assertTrue(snapshot.isDisplayed(By.id("shown")), "Child overriding the visibility is not displayed");
+        Assert.assertEquals(snapshot.getText(By.id("shown")), "Shown");
+    }
+
+    @Test
+    public void transparentAncestorHidesVisibleDescendants() {
+        htmlBySelector.put("#panel", "<div id=\"panel\" data-snapshot-visible=\"true\">"
+                + "<div id=\"faded\" data-snapshot-visible=\"true\" data-snapshot-transparent=\"true\">"
+                + "<span id=\"inner\" data-snapshot-visible=\"true\">Faded</span></div>"
+                + "<span id=\"label\" data-snapshot-visible=\"true\">Label</span></div>");
+
+        DomSnapshot snapshot = DomSnapshot.capture(driver, By.id("panel"));
+
+        Assert.assertFalse(snapshot.isDisplayed(By.id("inner")), "Element under a transparent ancestor is displayed");
+        Assert.assertEquals(snapshot.getText(By.id("panel")), "Label");
+    }
+
+    @Test
+    public void tableRowRootKeepsItsCells() {
+        htmlBySelector.put("#room101", "<tr id=\"room101\" data-snapshot-visible=\"true\">"
+                + "<td class=\"name\" data-snapshot-visible=\"true\">101</td>"
+                + "<td class=\"type\" data-snapshot-visible=\"true\">Twin</td></tr>");
+
+        DomSnapshot snapshot = DomSnapshot.capture(driver, By.id("room101"));
+
+        Assert.assertTrue(snapshot.isDisplayed(By.id("room101")), "Row root is not in the snapshot");
+        Assert.assertEquals(snapshot.count(By.tagName("td")), 2);
+        Assert.assertEquals(snapshot.getText(By.cssSelector(".type")), "Twin");
+    }
+}
@@ -0,0 +1,47 @@
+package unit;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.DriverPool;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DriverPoolTest - Checks that a lease never launches a session beyond the pool size,
+ * using fake drivers that take a while to launch.
+ */
+public class DriverPoolTest {
+
+    @Test
+    public void leaseWaitsForBackgroundLaunchInsteadOfExceedingPoolSize() throws Exception {
+        AtomicInteger launched = new AtomicInteger();
+        DriverPool pool = new DriverPool("fake", () -> {
+            launched.incrementAndGet();
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new FakeWebDriver(FakeSite.restfulBooker("admin", "password"));
+        }, 1, 10, Duration.ofMillis(300));
+        try {
+            CompletableFuture<WebDriver> warm = pool.prewarm(1).get(0);
+            // The only slot is held by the background launch, which outlasts the lease timeout
+            Assert.assertThrows(IllegalStateException.class, pool::lease);
+            Assert.assertEquals(launched.get(), 1, "Lease launched a session beyond the pool size");
+
+            warm.get(5, TimeUnit.SECONDS);
+            WebDriver driver = pool.lease();
+            Assert.assertEquals(launched.get(), 1, "Pre-warmed session was not reused");
+            pool.release(driver);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package unit;
+
+import elements.ElementCache;
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pages.AdminLoginPage;
+import utils.ConfigReader;
+import utils.DriverManager;
+import utils.Timeouts;
+
+/**
+ * ElementCacheTest - Checks handle reuse, stale re-resolution and invalidation of the element cache
+ * against the in-memory FakeWebDriver.
+ */
+public class ElementCacheTest {
+
+    private final By username = By.id("username");
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void openLoginPage() {
+        driver = new FakeWebDriver(FakeSite.restfulBooker("admin", "password"));
+        driver.get(ConfigReader.getConfigProperty("baseUrlAdmin"));
+        driver.resetCommandCount();
+    }
+
+    @Test
+    public void repeatedLookupsReuseTheResolvedHandle() {
+        ElementCache cache = new ElementCache(driver);
+        WebElement first = cache.find(username);
+        WebElement second = cache.find(username);
+        Assert.assertSame(second, first);
+        Assert.assertEquals(driver.getCommandCount(), 1, "findElement was called more than once");
+    }
+
+    @Test
+    public void staleHandleIsResolvedAgain() {
+        ElementCache cache = new ElementCache(driver);
+        WebElement element = cache.find(username);
+        driver.navigate().refresh();
+        element.sendKeys("admin");
+        Assert.assertEquals(driver.findElement(username).getAttribute("value"), "admin");
+    }
+
+    @Test
+    public void generatedAccessorsLookUpTheCacheOnEveryCall() {
+        DriverManager.setDriver(driver, Timeouts.SHORT);
+        try {
+            AdminLoginPage page = new AdminLoginPage();
+            page.enterUsername("admin");
+            long resolved = driver.getCommandCount();
+            driver.resetCommandCount();
+            page.enterUsername("admin");
+            long cached = driver.getCommandCount();
+            Assert.assertEquals(cached, resolved - 1, "Repeated accessor call did not reuse the cached element");
+
+            // Without re-reading the cache, the wrapper would keep using the handle resolved before the invalidation
+            ElementCache.invalidateAll();
+            driver.resetCommandCount();
+            page.enterUsername("admin");
+            Assert.assertEquals(driver.getCommandCount(), resolved, "Accessor bypassed the cache invalidation");
+        } finally {
+            DriverManager.quitDriver();
+        }
+    }
+
+    @Test
+    public void navigationInvalidatesCachedHandles() {
+        ElementCache cache = new ElementCache(driver);
+        WebElement before = cache.find(username);
+        ElementCache.invalidateAll();
+        Assert.assertNotSame(cache.find(username), before);
+    }
+}
@@ -0,0 +1,44 @@
+package unit;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import io.qameta.allure.model.Attachment;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.ConfigReader;
+import utils.FailureArtifacts;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * FailureArtifactsTest - Checks that the artifacts of a failed test are named right away, written in the background
+ * and stored once when identical, capturing from the in-memory FakeWebDriver (page source only).
+ */
+public class FailureArtifactsTest {
+
+    @Test
+    public void identicalArtifactsAreWrittenInTheBackgroundOnce() throws IOException {
+        FakeWebDriver driver = new FakeWebDriver(FakeSite.restfulBooker("admin", "secret"));
+        driver.get(ConfigReader.getConfigProperty("baseUrl"));
+        Path resultsDir = Files.createTempDirectory("allure-results");
+        try {
+            List<Attachment> first = FailureArtifacts.submit(FailureArtifacts.capture(driver), resultsDir);
+            List<Attachment> second = FailureArtifacts.submit(FailureArtifacts.capture(driver), resultsDir);
+            FailureArtifacts.drain();
+
+            Assert.assertEquals(first.size(), 1, "Only the page source is available from the fake driver");
+            Assert.assertEquals(first.get(0).getType(), "text/html");
+            Assert.assertNotEquals(first.get(0).getSource(), second.get(0).getSource());
+            Path firstFile = resultsDir.resolve(first.get(0).getSource());
+            Path secondFile = resultsDir.resolve(second.get(0).getSource());
+            Assert.assertTrue(Files.readString(firstFile).contains("<html"), "Page source was not written");
+            Assert.assertEquals(Files.readString(secondFile), Files.readString(firstFile));
+            Assert.assertTrue(Files.isSameFile(firstFile, secondFile), "Identical page source was written twice");
+        } finally {
+            driver.quit();
+        }
+    }
+}
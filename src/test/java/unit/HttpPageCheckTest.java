@@ -0,0 +1,70 @@
+package unit;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import site.LocalSite;
+import utils.ConfigReader;
+import utils.HttpPage;
+import utils.HttpPageCheck;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HttpPageCheckTest - Checks the browserless page checks against the local stand-in site.
+ */
+public class HttpPageCheckTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    private LocalSite site;
+
+    @BeforeClass
+    public void startSite() {
+        site = LocalSite.start(0, "admin", "secret", "token", LATENCY, Map.of("pageTitle", "Local demo"));
+        ConfigReader.setConfigProperty("unit.localHomeUrl", site.getBaseUrl());
+        ConfigReader.setConfigProperty("unit.localAdminUrl", site.getBaseUrl() + "admin");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopSite() {
+        site.stop();
+    }
+
+    @Test
+    public void titleAndElementsAreReadWithoutBrowser() {
+        HttpPage page = HttpPageCheck.fetch("unit.localAdminUrl");
+        Assert.assertEquals(page.getStatusCode(), 200);
+        Assert.assertEquals(page.getTitle(), "Local demo");
+        Assert.assertTrue(page.isPresent(By.id("username")), "Username input not found by id");
+        Assert.assertTrue(page.isPresent(By.className("card")), "Login card not found by class name");
+        Assert.assertTrue(page.isPresent(By.xpath("//button[@id='doLogin']")), "Login button not found by xpath");
+        Assert.assertEquals(page.count(By.cssSelector("input.form-control")), 2);
+        Assert.assertEquals(page.getText(By.id("doLogin")), "Login");
+        Assert.assertFalse(page.isPresent(By.id("createRoom")), "Rooms page element found on the login page");
+    }
+
+    @Test
+    public void redirectsAreFollowed() {
+        ConfigReader.setConfigProperty("unit.localRoomsUrl", site.getBaseUrl() + "admin/rooms");
+        HttpPage page = HttpPageCheck.fetch("unit.localRoomsUrl");
+        Assert.assertTrue(page.isPresent(By.id("doLogin")), "Unauthenticated rooms request did not end on the login page");
+    }
+
+    @Test
+    public void manyChecksRunConcurrently() {
+        int checks = 200;
+        List<HttpPage> pages = HttpPageCheck.fetchAll(Collections.nCopies(checks, "unit.localHomeUrl"));
+
+        Assert.assertEquals(pages.size(), checks);
+        pages.forEach(page -> Assert.assertEquals(page.getTitle(), "Local demo"));
+        // Each response is delayed, so sequential checks would never overlap on the server
+        Assert.assertTrue(site.getMaxConcurrentRequests() > 1,
+                "Checks did not run concurrently: at most " + site.getMaxConcurrentRequests() + " request(s) at a time");
+    }
+}
@@ -0,0 +1,102 @@
+package unit;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import site.LocalSite;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * LocalSiteTest - Checks the fixtures and the fake auth endpoints of the local stand-in server over HTTP.
+ */
+public class LocalSiteTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private LocalSite site;
+
+    @BeforeClass
+    public void startSite() {
+        site = LocalSite.start(0, "admin", "secret", "token", LATENCY, Map.of("pageTitle", "Local demo"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopSite() {
+        site.stop();
+    }
+
+    @Test
+    public void homePageIsServedWithTitle() throws Exception {
+        HttpResponse<String> response = get("", null);
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertTrue(response.body().contains("<title>Local demo</title>"), "Title placeholder is not replaced");
+        Assert.assertTrue(response.body().contains("btn btn-primary btn-lg"), "Home page fixture is not served");
+    }
+
+    @Test
+    public void roomsPageRequiresSessionCookie() throws Exception {
+        Assert.assertEquals(get("admin/rooms", null).statusCode(), 302);
+
+        HttpResponse<String> login = login("admin", "secret");
+        Assert.assertEquals(login.statusCode(), 200);
+        String cookie = login.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+
+        HttpResponse<String> rooms = get("admin/rooms", cookie);
+        Assert.assertEquals(rooms.statusCode(), 200);
+        Assert.assertTrue(rooms.body().contains("id=\"createRoom\""), "Rooms page fixture is not served");
+
+        post("api/auth/logout", "", cookie);
+        Assert.assertEquals(get("admin/rooms", cookie).statusCode(), 302, "Session is still valid after logout");
+    }
+
+    @Test
+    public void loginWithWrongPasswordIsRejected() throws Exception {
+        HttpResponse<String> login = login("admin", "wrong");
+        Assert.assertEquals(login.statusCode(), 403);
+        Assert.assertTrue(login.headers().firstValue("Set-Cookie").isEmpty(), "Session cookie set for wrong credentials");
+    }
+
+    @Test
+    public void cookieBootstrapPageIsCommittedAsHtml() throws Exception {
+        HttpResponse<String> response = get("favicon.ico", null);
+        Assert.assertEquals(response.statusCode(), 200, "Browsers cannot add cookies on a page that was not committed");
+        Assert.assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/html"));
+    }
+
+    @Test
+    public void responsesAreDelayedByLatency() throws Exception {
+        long start = System.nanoTime();
+        get("favicon.ico", null);
+        Assert.assertTrue(System.nanoTime() - start >= LATENCY.toNanos(), "Response was not delayed");
+    }
+
+    private HttpResponse<String> login(String username, String password) throws IOException, InterruptedException {
+        return post("api/auth/login", "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}", null);
+    }
+
+    private HttpResponse<String> get(String path, String cookie) throws IOException, InterruptedException {
+        return client.send(request(path, cookie).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body, String cookie) throws IOException, InterruptedException {
+        HttpRequest request = request(path, cookie)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String cookie) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(site.getBaseUrl() + path));
+        return cookie != null ? builder.header("Cookie", cookie) : builder;
+    }
+}
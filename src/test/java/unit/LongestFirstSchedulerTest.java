@@ -0,0 +1,39 @@
+package unit;
+
+import listeners.DurationHistory;
+import listeners.LongestFirstScheduler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * LongestFirstSchedulerTest - Checks the makespan prediction and the duration history used to order test classes.
+ */
+public class LongestFirstSchedulerTest {
+
+    @Test
+    public void longestFirstShortensTheMakespan() {
+        // One slow class declared last stretches the run; started first, it runs next to the short ones
+        Assert.assertEquals(LongestFirstScheduler.predictMakespan(List.of(10L, 10L, 10L, 30L), 2), 40L);
+        Assert.assertEquals(LongestFirstScheduler.predictMakespan(List.of(30L, 10L, 10L, 10L), 2), 30L);
+        Assert.assertEquals(LongestFirstScheduler.predictMakespan(List.of(30L, 10L, 10L, 10L), 0), 60L);
+    }
+
+    @Test
+    public void durationsAreBlendedAndSurviveRestarts() throws IOException {
+        Path file = Files.createTempDirectory("durations").resolve("test-durations.properties");
+        DurationHistory history = new DurationHistory(file);
+        history.record("tests.Slow.run", 1000);
+        history.record("tests.Slow.run", 3000);
+        history.record("tests.Fast.run", 200);
+        history.save();
+
+        DurationHistory nextRun = new DurationHistory(file);
+        Assert.assertEquals(nextRun.estimate("tests.Slow.run"), 2000L);
+        Assert.assertEquals(nextRun.estimate("tests.Unknown.run"), 1100L, "Unknown tests are not estimated with the mean");
+    }
+}
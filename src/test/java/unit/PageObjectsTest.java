@@ -0,0 +1,184 @@
+package unit;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import fakes.FakeWebElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pages.AdminLoginPage;
+import pages.AdminPageState;
+import pages.AdminRoomsPage;
+import pages.HomePage;
+import utils.CommandMetrics;
+import utils.ConfigReader;
+import utils.DomSnapshot;
+import utils.DriverManager;
+import utils.LatencyHistogram;
+import utils.Timeouts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PageObjectsTest - Exercises the page objects against the in-memory FakeWebDriver,
+ * without a browser or network access.
+ */
+public class PageObjectsTest {
+
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void installFakeDriver() {
+        FakeSite site = FakeSite.restfulBooker(ConfigReader.getLocalProperty("username"), ConfigReader.getLocalProperty("password"));
+        driver = new FakeWebDriver(site);
+        DriverManager.setDriver(driver, Timeouts.SHORT);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeFakeDriver() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    public void homePageOpensWithConfiguredTitle() {
+        HomePage homePage = new HomePage();
+        homePage.open();
+        Assert.assertEquals(homePage.getTitle(), ConfigReader.getConfigProperty("pageTitle"));
+    }
+
+    @Test
+    public void loginWithConfiguredCredentialsOpensRoomsPage() {
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        AdminRoomsPage roomsPage = loginPage.loginWithValidAdminCredentialsFromConfig();
+        Assert.assertTrue(roomsPage.isNavbarDisplayed(), "Navbar is not displayed after login");
+        Assert.assertNotNull(driver.manage().getCookieNamed("token"), "Session cookie is not set after login");
+    }
+
+    @Test
+    public void pageStateIsReadAfterLogin() {
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        AdminPageState state = loginPage.loginWithValidAdminCredentialsFromConfig().readPageState();
+        Assert.assertEquals(state.getTitle(), ConfigReader.getConfigProperty("pageTitle"));
+        Assert.assertTrue(state.isNavbarDisplayed(), "Navbar is not displayed after login");
+    }
+
+    @Test
+    public void snapshotChecksRunWithoutFurtherCommands() {
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        DomSnapshot snapshot = loginPage.snapshot();
+        driver.resetCommandCount();
+
+        Assert.assertEquals(snapshot.getTitle(), ConfigReader.getConfigProperty("pageTitle"));
+        Assert.assertTrue(snapshot.isDisplayed(By.id("doLogin")), "Login button is not displayed");
+        Assert.assertEquals(snapshot.getText(By.id("doLogin")), "Login");
+        Assert.assertTrue(snapshot.isPresent(By.cssSelector(".alert-danger")), "Error alert is not present");
+        Assert.assertFalse(snapshot.isDisplayed(By.cssSelector(".alert-danger")), "Hidden error alert is displayed");
+        Assert.assertEquals(snapshot.count(By.tagName("input")), 2);
+        Assert.assertEquals(driver.getCommandCount(), 0, "Snapshot checks issued WebDriver commands");
+    }
+
+    @Test
+    public void componentSnapshotContainsOnlyItsSubtree() {
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        AdminRoomsPage roomsPage = loginPage.loginWithValidAdminCredentialsFromConfig();
+        DomSnapshot navbar = roomsPage.getNavbar().snapshot();
+        Assert.assertTrue(roomsPage.getNavbar().isDisplayedIn(navbar), "Navbar is not displayed in its own snapshot");
+        Assert.assertEquals(navbar.getText(By.tagName("button")), "Logout");
+        Assert.assertFalse(navbar.isPresent(By.id("createRoom")), "Navbar snapshot contains elements outside the navbar");
+    }
+
+    @Test
+    public void pageLoadWaitsForIdAndClassLocatorsRunInBrowser() {
+        List<List<Object>> waits = new ArrayList<>();
+        driver.onScript("MutationObserver", (fake, arguments) -> {
+            waits.add(arguments);
+            List<WebElement> found = fake.findElements(By.cssSelector((String) arguments.get(1)));
+            return !found.isEmpty() && found.get(0).isDisplayed();
+        });
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        loginPage.loginWithValidAdminCredentialsFromConfig();
+
+        // By.className("card") and By.id("createRoom") are waited for in the browser, not polled
+        Assert.assertEquals(waits.size(), 2, "Page load waits did not use the in-browser wait: " + waits);
+        Assert.assertEquals(waits.get(0).subList(0, 2), List.of("css selector", ".card"));
+        Assert.assertEquals(waits.get(1).subList(0, 2), List.of("css selector", "#createRoom"));
+    }
+
+    @Test
+    public void waitsAreNotTimedWithCommandMetricsOff() {
+        String enabled = ConfigReader.getConfigProperty("metrics.commandLatency", "true");
+        ConfigReader.setConfigProperty("metrics.commandLatency", "false");
+        try {
+            LatencyHistogram before = CommandMetrics.aggregate().get("wait");
+            new HomePage().open();
+            LatencyHistogram after = CommandMetrics.aggregate().get("wait");
+            Assert.assertEquals(after == null ? 0 : after.getCount(), before == null ? 0 : before.getCount(),
+                    "Wait was timed with command metrics switched off");
+        } finally {
+            ConfigReader.setConfigProperty("metrics.commandLatency", enabled);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void loginFormIsFilledInOneScriptCall() {
+        List<Object> fills = new ArrayList<>();
+        driver.onScript("getOwnPropertyDescriptor", (fake, arguments) -> {
+            List<List<Object>> steps = (List<List<Object>>) arguments.get(0);
+            fills.add(steps);
+            List<WebElement> targets = new ArrayList<>();
+            for (List<Object> step : steps) {
+                List<WebElement> found = fake.findElements(By.cssSelector((String) step.get(2)));
+                if (found.isEmpty()) {
+                    return "missing: " + step.get(2);
+                }
+                targets.add(found.get(0));
+            }
+            for (int i = 0; i < steps.size(); i++) {
+                if ("type".equals(steps.get(i).get(0))) {
+                    ((FakeWebElement) targets.get(i)).getNode().setValue((String) steps.get(i).get(3));
+                } else {
+                    targets.get(i).click();
+                }
+            }
+            return null;
+        });
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        loginPage.loginAs(ConfigReader.getLocalProperty("username"), ConfigReader.getLocalProperty("password"));
+
+        Assert.assertEquals(fills, List.of(List.of(
+                List.of("type", "css selector", "#username", ConfigReader.getLocalProperty("username")),
+                List.of("type", "css selector", "#password", ConfigReader.getLocalProperty("password")),
+                List.of("click", "css selector", "#doLogin", ""))), "Login form was not filled in one script call");
+        Assert.assertNotNull(driver.manage().getCookieNamed("token"), "Session cookie is not set after a scripted login");
+        Assert.assertFalse(driver.findElements(By.id("createRoom")).isEmpty(), "Rooms page is not opened after a scripted login");
+    }
+
+    @Test
+    public void loginWithWrongPasswordStaysOnLoginPage() {
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        loginPage.loginAs(ConfigReader.getLocalProperty("username"), "wrong-password");
+        Assert.assertNull(driver.manage().getCookieNamed("token"), "Session cookie is set after a failed login");
+        Assert.assertFalse(driver.findElements(By.id("doLogin")).isEmpty(), "Login form is not displayed after a failed login");
+    }
+
+    @Test
+    public void logoutReturnsToHomePage() {
+        AdminLoginPage loginPage = new AdminLoginPage();
+        loginPage.openPage();
+        HomePage homePage = loginPage.loginWithValidAdminCredentialsFromConfig().logout();
+        Assert.assertEquals(homePage.getTitle(), ConfigReader.getConfigProperty("pageTitle"));
+        Assert.assertNull(driver.manage().getCookieNamed("token"), "Session cookie is still set after logout");
+    }
+}
@@ -0,0 +1,39 @@
+package unit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.ConfigReader;
+import utils.PageTimings;
+import utils.PerformanceBudgets;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PerformanceBudgetsTest - Checks how page timings are compared against per-page and default budgets.
+ */
+public class PerformanceBudgetsTest {
+
+    private static final PageTimings TIMINGS = new PageTimings("http://localhost/", 1.0, Map.of(
+            PageTimings.TTFB, 120L,
+            PageTimings.DOM_CONTENT_LOADED, 900L,
+            PageTimings.LOAD, -1L,
+            PageTimings.FIRST_CONTENTFUL_PAINT, 700L));
+
+    @Test
+    public void pageBudgetsOverrideDefaultBudgets() {
+        ConfigReader.setConfigProperty("budget.BudgetedPage.domContentLoaded", "800");
+        ConfigReader.setConfigProperty("budget.BudgetedPage.fcp", "1000");
+
+        List<String> breaches = PerformanceBudgets.evaluate("BudgetedPage", TIMINGS);
+        Assert.assertEquals(breaches, List.of("domContentLoaded 900 ms > 800 ms"));
+    }
+
+    @Test
+    public void metricsNotReachedAreNotChecked() {
+        ConfigReader.setConfigProperty("budget.UnloadedPage.load", "1");
+
+        Assert.assertTrue(PerformanceBudgets.evaluate("UnloadedPage", TIMINGS).isEmpty(),
+                "A load event that has not happened yet was reported as a breach");
+    }
+}
@@ -0,0 +1,94 @@
+package unit;
+
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import utils.ResourceInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ResourceInterceptorTest - Checks blocking, the static asset cache and the per-page statistics of the
+ * DevTools interceptor, calling it directly with a stub network instead of a browser.
+ */
+public class ResourceInterceptorTest {
+
+    private static final byte[] STYLESHEET = "body { color: red; }".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final HttpHandler network = request -> {
+        downloads.incrementAndGet();
+        return new HttpResponse().setHeader("Content-Type", "text/css").setContent(Contents.bytes(STYLESHEET));
+    };
+    private Path cacheDir;
+
+    @BeforeMethod
+    public void createCacheDir() throws IOException {
+        downloads.set(0);
+        cacheDir = Files.createTempDirectory("static-cache");
+    }
+
+    @Test
+    public void configuredTypesAndUrlsAreBlocked() {
+        ResourceInterceptor interceptor = new ResourceInterceptor(Set.of("font"),
+                List.of("*google-analytics.com*"), null, Duration.ofHours(1));
+        HttpHandler handler = interceptor.apply(network);
+
+        Assert.assertEquals(handler.execute(get("https://site.test/fonts/main.woff2?v=2")).getStatus(), 204);
+        Assert.assertEquals(handler.execute(get("https://www.google-analytics.com/analytics.js")).getStatus(), 204);
+        Assert.assertSame(handler.execute(get("https://site.test/css/app.css")), NetworkInterceptor.PROCEED_WITH_REQUEST);
+        Assert.assertEquals(interceptor.getBlockedCount(), 2);
+        Assert.assertEquals(downloads.get(), 0, "Blocked requests reached the network");
+    }
+
+    @Test
+    public void staticAssetsAreServedFromTheCacheOnLaterRuns() {
+        String url = "https://site.test/css/app.css";
+        HttpResponse first = cachingInterceptor().apply(network).execute(get(url));
+        Assert.assertEquals(Contents.bytes(first.getContent()), STYLESHEET);
+
+        // A new interceptor stands for the next run: the asset comes from disk
+        ResourceInterceptor nextRun = cachingInterceptor();
+        HttpResponse second = nextRun.apply(network).execute(get(url));
+        Assert.assertEquals(Contents.bytes(second.getContent()), STYLESHEET);
+        Assert.assertEquals(second.getHeader("Content-Type"), "text/css");
+        Assert.assertEquals(downloads.get(), 1, "Cached asset was downloaded again");
+        Assert.assertEquals(nextRun.getCachedCount(), 1);
+        Assert.assertEquals(nextRun.getBytesSaved(), STYLESHEET.length);
+    }
+
+    @Test
+    public void documentsAreNotInterceptedAndStartANewPageLoad() {
+        ResourceInterceptor interceptor = new ResourceInterceptor(Set.of("image"), List.of(), null, Duration.ofHours(1));
+        HttpHandler handler = interceptor.apply(network);
+        HttpRequest page = get("https://site.test/admin").addHeader("Accept", "text/html,application/xhtml+xml");
+
+        Assert.assertSame(handler.execute(page), NetworkInterceptor.PROCEED_WITH_REQUEST);
+        handler.execute(get("https://site.test/logo.png"));
+        Assert.assertEquals(interceptor.getBlockedCount(), 1);
+
+        handler.execute(page);
+        Assert.assertEquals(interceptor.getBlockedCount(), 0, "Statistics were not reset for the new page load");
+    }
+
+    private ResourceInterceptor cachingInterceptor() {
+        return new ResourceInterceptor(Set.of(), List.of(), cacheDir, Duration.ofHours(1));
+    }
+
+    private static HttpRequest get(String url) {
+        return new HttpRequest(HttpMethod.GET, url);
+    }
+}
@@ -0,0 +1,92 @@
+package unit;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import utils.RingBufferAppender;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RingBufferAppenderTest - Checks that captured events are only formatted and written when the capture is flushed,
+ * using the TEST_BUFFER appender of logback.xml with an in-memory appender attached behind it. The appender is
+ * shared by every thread, so the in-memory appender keeps only the events of the test thread.
+ */
+public class RingBufferAppenderTest {
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferAppenderTest.class);
+
+    private RingBufferAppender buffer;
+    private ListAppender<ILoggingEvent> written;
+
+    @BeforeMethod
+    public void attachListAppender() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        buffer = (RingBufferAppender) context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("TEST_BUFFER");
+        String testThread = Thread.currentThread().getName();
+        written = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                if (testThread.equals(event.getThreadName())) {
+                    super.append(event);
+                }
+            }
+        };
+        written.setContext(context);
+        written.start();
+        buffer.addAppender(written);
+    }
+
+    @AfterMethod
+    public void detachListAppender() {
+        buffer.detachAppender(written);
+        written.stop();
+    }
+
+    @Test
+    public void discardedEventsAreNeverFormattedOrWritten() {
+        AtomicInteger described = new AtomicInteger();
+        Object element = new Object() {
+            @Override
+            public String toString() {
+                return "element #" + described.incrementAndGet();
+            }
+        };
+
+        RingBufferAppender.startCapture();
+        logger.info("Clicking on element: {}", element);
+        RingBufferAppender.discardCapture();
+        Assert.assertTrue(written.list.isEmpty(), "Discarded events were written");
+        Assert.assertEquals(described.get(), 0, "Element was described for a discarded event");
+
+        RingBufferAppender.startCapture();
+        logger.info("Clicking on element: {}", element);
+        Assert.assertTrue(written.list.isEmpty(), "Captured events were written before the flush");
+        Assert.assertEquals(RingBufferAppender.flushCapture(), 1);
+        Assert.assertEquals(written.list.size(), 1);
+        Assert.assertEquals(written.list.get(0).getFormattedMessage(), "Clicking on element: element #1");
+        Assert.assertTrue(RingBufferAppender.getCapturedLog().contains("Clicking on element: element #1"));
+
+        logger.info("Not captured");
+        Assert.assertEquals(written.list.size(), 2, "Events outside a capture must be passed through");
+    }
+
+    @Test
+    public void ringBufferKeepsOnlyTheLatestEvents() {
+        RingBufferAppender.startCapture();
+        for (int i = 1; i <= 510; i++) {
+            logger.info("Event {}", i);
+        }
+        String log = RingBufferAppender.getCapturedLog();
+        RingBufferAppender.discardCapture();
+
+        Assert.assertTrue(log.startsWith("... 10 earlier event(s) dropped"), log.substring(0, 60));
+        Assert.assertFalse(log.contains("Event 10\n"), "Dropped event was kept");
+        Assert.assertTrue(log.contains("Event 11\n") && log.contains("Event 510\n"));
+    }
+}
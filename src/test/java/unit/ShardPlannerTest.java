@@ -0,0 +1,65 @@
+package unit;
+
+import listeners.DurationHistory;
+import listeners.ShardPlanner;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ShardPlannerTest - Checks that shards are balanced by recorded duration and keep dependent classes together.
+ */
+public class ShardPlannerTest {
+
+    @Test
+    public void shardsAreBalancedAndDependentClassesStayTogether() throws IOException {
+        DurationHistory history = new DurationHistory(Files.createTempDirectory("durations").resolve("d.properties"));
+        history.record(Slow.class.getName() + ".run", 9000);
+        history.record(Setup.class.getName() + ".prepare", 3000);
+        history.record(DependsOnSetup.class.getName() + ".check", 3000);
+        history.record(Quick.class.getName() + ".run", 2000);
+
+        List<Set<String>> plan = ShardPlanner.planShards(
+                List.of(Quick.class, Setup.class, Slow.class, DependsOnSetup.class), 2, history);
+
+        Assert.assertEquals(plan.get(0), Set.of(Slow.class.getName()));
+        Assert.assertEquals(plan.get(1), Set.of(Setup.class.getName(), DependsOnSetup.class.getName(), Quick.class.getName()));
+    }
+
+    @Test
+    public void shardMustBeWithinTheShardCount() {
+        Assert.assertEquals(ShardPlanner.parseShard("2/3"), new int[]{2, 3});
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShardPlanner.parseShard("0/3"));
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShardPlanner.parseShard("4/3"));
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShardPlanner.parseShard("two"));
+    }
+
+    // Planner input only: disabled so TestNG never runs them
+    public static class Slow {
+        @Test(enabled = false)
+        public void run() {
+        }
+    }
+
+    public static class Quick {
+        @Test(enabled = false)
+        public void run() {
+        }
+    }
+
+    public static class Setup {
+        @Test(groups = "setup", enabled = false)
+        public void prepare() {
+        }
+    }
+
+    public static class DependsOnSetup {
+        @Test(dependsOnGroups = "setup", enabled = false)
+        public void check() {
+        }
+    }
+}
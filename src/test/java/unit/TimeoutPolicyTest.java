@@ -0,0 +1,109 @@
+package unit;
+
+import fakes.FakeSite;
+import fakes.FakeWebDriver;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.ConfigReader;
+import utils.TimeoutPolicy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * TimeoutPolicyTest - Checks how timeouts are learned from recorded wait durations
+ * (with the defaults: p95 plus 100%, at least 5 samples, between SHORT (5 s) and LONG (30 s)).
+ */
+public class TimeoutPolicyTest {
+
+    private static final Duration CONFIGURED = Duration.ofSeconds(10);
+
+    @Test
+    public void timeoutIsLearnedFromThePercentileAndClamped() throws IOException {
+        TimeoutPolicy policy = new TimeoutPolicy(Files.createTempDirectory("timeouts").resolve("waits.properties"));
+        for (int i = 1; i <= 4; i++) {
+            policy.record("slow", i * 2_000L);
+            policy.record("fast", 100);
+            policy.record("very slow", 20_000);
+        }
+        Assert.assertEquals(policy.getTimeout("slow", CONFIGURED), CONFIGURED, "Learned from too few samples");
+
+        policy.record("slow", 10_000);
+        policy.record("fast", 100);
+        policy.record("very slow", 20_000);
+        Assert.assertEquals(policy.getTimeout("slow", CONFIGURED), Duration.ofSeconds(20), "Not p95 plus 100%");
+        Assert.assertEquals(policy.getTimeout("fast", CONFIGURED), Duration.ofSeconds(5), "Not clamped to SHORT");
+        Assert.assertEquals(policy.getTimeout("very slow", CONFIGURED), Duration.ofSeconds(30), "Not clamped to LONG");
+    }
+
+    @Test
+    public void failedWaitIsComparedWithTheHistory() throws IOException {
+        Path file = Files.createTempDirectory("timeouts").resolve("waits.properties");
+        TimeoutPolicy policy = new TimeoutPolicy(file);
+        for (int i = 0; i < 5; i++) {
+            policy.await("HomePage: title", CONFIGURED, timeout -> { });
+        }
+        policy.save();
+
+        TimeoutPolicy reloaded = new TimeoutPolicy(file);
+        TimeoutException error = Assert.expectThrows(TimeoutException.class,
+                () -> reloaded.await("HomePage: title", CONFIGURED, timeout -> {
+                    Assert.assertEquals(timeout, Duration.ofSeconds(5), "History was not saved and reloaded");
+                    throw new TimeoutException("Element not visible");
+                }));
+        Assert.assertTrue(error.getMessage().contains("learned from 5 run(s)"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("x the p95"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("(timeout 5000 ms)"), error.getMessage());
+    }
+
+    @Test
+    public void pageObjectWaitsAreKeptPerOriginAndBrowser() throws IOException {
+        Path file = Files.createTempDirectory("timeouts").resolve("waits.properties");
+        TimeoutPolicy policy = new TimeoutPolicy(file);
+        policy.await(new BrowserDriver(), "HomePage: title", CONFIGURED, timeout -> { });
+        policy.save();
+
+        Properties saved = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            saved.load(in);
+        }
+        URI baseUrl = URI.create(ConfigReader.getConfigProperty("baseUrl"));
+        Assert.assertEquals(saved.stringPropertyNames(),
+                Set.of("[" + baseUrl.getScheme() + "://" + baseUrl.getAuthority() + " chrome] HomePage: title"));
+    }
+
+    @Test
+    public void waitsInTestDriversAreNotRecorded() throws IOException {
+        Path file = Files.createTempDirectory("timeouts").resolve("waits.properties");
+        TimeoutPolicy policy = new TimeoutPolicy(file);
+        policy.await(new FakeWebDriver(new FakeSite()), "HomePage: title", CONFIGURED,
+                timeout -> Assert.assertEquals(timeout, CONFIGURED));
+        policy.save();
+
+        Assert.assertFalse(Files.exists(file), "Wait in the in-memory driver was recorded");
+    }
+
+    /**
+     * In-memory driver that reports the capabilities of a Chrome session, like a real browser.
+     */
+    private static class BrowserDriver extends FakeWebDriver implements HasCapabilities {
+        BrowserDriver() {
+            super(new FakeSite());
+        }
+
+        @Override
+        public Capabilities getCapabilities() {
+            return new ImmutableCapabilities("browserName", "chrome");
+        }
+    }
+}